@@ -57,6 +57,11 @@ default void onGridChanged(T nodeOwner, IGridNode node) {
     /**
      * Called when one of the node's state properties has changed. Any of those changes might have potentially changed
      * the {@link IGridNode#isActive() active-state} as well.
+     * <p>
+     * {@link State#POWER} and {@link State#CHANNEL} changes are not reported synchronously. They are queued and
+     * delivered after the grids have ticked in the current tick phase, at most once per state, no matter how often the
+     * state changed in between. By then, the node might already be back in its previous state. Nodes that are destroyed
+     * before the notification is delivered are not notified. {@link State#GRID_BOOT} changes are reported immediately.
      *
      * @param state Indicates the node property that might have changed.
      */
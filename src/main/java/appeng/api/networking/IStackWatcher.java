@@ -1,5 +1,7 @@
 package appeng.api.networking;
 
+import java.util.Collection;
+
 import org.jetbrains.annotations.ApiStatus;
 
 import appeng.api.networking.crafting.ICraftingWatcherNode;
@@ -26,6 +28,11 @@ public interface IStackWatcher {
      */
     void add(AEKey stack);
 
+    /**
+     * Add all the given {@link AEKey keys} to watch. This is cheaper than adding them one by one.
+     */
+    void addAll(Collection<AEKey> stacks);
+
     /**
      * Remove a specific {@link AEKey} from the watcher.
      */
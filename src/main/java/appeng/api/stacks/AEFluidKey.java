@@ -2,6 +2,7 @@
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -25,6 +26,11 @@ public final class AEFluidKey extends AEKey {
     public static final int AMOUNT_BUCKET = 1000;
     public static final int AMOUNT_BLOCK = 1000;
 
+    /**
+     * Canonical keys for fluids without a tag, see {@link AEItemKey} for the rationale.
+     */
+    private static final ConcurrentHashMap<Fluid, AEFluidKey> UNTAGGED = new ConcurrentHashMap<>();
+
     private final Fluid fluid;
     @Nullable
     private final CompoundTag tag;
@@ -37,8 +43,19 @@ private AEFluidKey(Fluid fluid, @Nullable CompoundTag tag) {
     }
 
     public static AEFluidKey of(Fluid fluid, @Nullable CompoundTag tag) {
+        if (tag == null) {
+            return untagged(fluid);
+        }
         // Do a defensive copy of the tag if we're not sure that we can take ownership
-        return new AEFluidKey(fluid, tag != null ? tag.copy() : null);
+        return new AEFluidKey(fluid, tag.copy());
+    }
+
+    private static AEFluidKey untagged(Fluid fluid) {
+        var key = UNTAGGED.get(fluid);
+        if (key == null) {
+            key = UNTAGGED.computeIfAbsent(fluid, f -> new AEFluidKey(f, null));
+        }
+        return key;
     }
 
     public static AEFluidKey of(Fluid fluid) {
@@ -180,7 +197,7 @@ public void writeToPacket(FriendlyByteBuf data) {
     public static AEFluidKey fromPacket(FriendlyByteBuf data) {
         var fluid = BuiltInRegistries.FLUID.byId(data.readVarInt());
         var tag = data.readNbt();
-        return new AEFluidKey(fluid, tag);
+        return tag == null ? untagged(fluid) : new AEFluidKey(fluid, tag);
     }
 
     public static boolean is(@Nullable GenericStack stack) {
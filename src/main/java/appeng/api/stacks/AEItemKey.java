@@ -4,6 +4,7 @@
 import java.util.List;
 import java.util.Objects;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -25,6 +26,12 @@
 import appeng.util.Platform;
 
 public final class AEItemKey extends AEKey {
+    /**
+     * Keys without a tag or attached capabilities are by far the most common, and there's only ever one of them per
+     * item. They're canonicalized here to avoid allocating a new key for every plain stack that is converted.
+     */
+    private static final ConcurrentHashMap<Item, AEItemKey> UNTAGGED = new ConcurrentHashMap<>();
+
     @Nullable
     private static CompoundTag serializeStackCaps(ItemStack stack) {
         try {
@@ -109,13 +116,29 @@ public static AEItemKey of(ItemLike item, @Nullable CompoundTag tag) {
     }
 
     private static AEItemKey of(ItemLike item, @Nullable CompoundTag tag, @Nullable CompoundTag caps) {
+        if (tag == null && caps == null) {
+            return untagged(item.asItem());
+        }
         return new AEItemKey(item.asItem(), InternedTag.of(tag, false), InternedTag.of(caps, false));
     }
 
+    private static AEItemKey untagged(Item item) {
+        var key = UNTAGGED.get(item);
+        if (key == null) {
+            key = UNTAGGED.computeIfAbsent(item, i -> new AEItemKey(i, InternedTag.EMPTY, InternedTag.EMPTY));
+        }
+        return key;
+    }
+
     public boolean matches(ItemStack stack) {
-        // TODO: remove or optimize cap check if it becomes too slow >:-(
-        return !stack.isEmpty() && stack.is(item) && Objects.equals(stack.getTag(), internedTag.tag)
-                && Objects.equals(serializeStackCaps(stack), internedCaps.tag);
+        if (stack.isEmpty() || !stack.is(item) || !Objects.equals(stack.getTag(), internedTag.tag)) {
+            return false;
+        }
+        // Only serialize the attachments of the stack if there's anything to compare at all
+        if (internedCaps.tag == null && !stack.hasAttachments()) {
+            return true;
+        }
+        return Objects.equals(serializeStackCaps(stack), internedCaps.tag);
     }
 
     public ItemStack toStack() {
@@ -262,6 +285,9 @@ public static AEItemKey fromPacket(FriendlyByteBuf data) {
         var item = Item.byId(i);
         var compoundTag = data.readNbt();
         var attachedCapsData = data.readNbt();
+        if (compoundTag == null && attachedCapsData == null) {
+            return untagged(item);
+        }
         return new AEItemKey(item, InternedTag.of(compoundTag, true),
                 InternedTag.of(attachedCapsData, true));
     }
@@ -0,0 +1,17 @@
+package appeng.api.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Can be implemented by item or fluid handlers to tell storage buses when their content has changed. Storage buses
+ * otherwise have to rescan every slot of the inventory they're attached to, which is expensive for inventories with
+ * thousands of slots.
+ */
+@ApiStatus.Experimental
+public interface IChangeStamped {
+    /**
+     * @return A value that changes whenever the content of any slot changes, including changes in amount. The absolute
+     *         value has no meaning, only whether it differs from the last value that was returned.
+     */
+    long getChangeStamp();
+}
@@ -18,6 +18,7 @@
 
 package appeng.blockentity;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -80,6 +81,13 @@ public class AEBaseBlockEntity extends BlockEntity
     @Nullable
     private Component customName;
     private boolean setChangedQueued = false;
+    private boolean updateQueued = false;
+    /**
+     * The client data that was last sent by {@link #pollUpdateData()}, used to skip sending updates that would not
+     * change anything on the client. Cleared whenever the data is sent through other means.
+     */
+    @Nullable
+    private byte[] lastSentUpdateData;
     /**
      * For diagnosing issues with the delayed block entity initialization, this tracks how often this BE has been queued
      * for defered initializiation using {@link GridHelper#onFirstTick}.
@@ -127,14 +135,7 @@ public final void load(CompoundTag tag) {
         // On the client, this can either be data received as part of an initial chunk update,
         // or as part of a sole block entity data update.
         if (tag.contains("#upd", Tag.TAG_BYTE_ARRAY) && tag.size() == 1) {
-            var updateData = tag.getByteArray("#upd");
-            if (readUpdateData(new FriendlyByteBuf(Unpooled.wrappedBuffer(updateData)))) {
-                // Triggers a chunk re-render if the level is already loaded
-                if (level != null) {
-                    requestModelDataUpdate();
-                    level.sendBlockUpdated(getBlockPos(), getBlockState(), getBlockState(), 0);
-                }
-            }
+            receiveUpdateData(tag.getByteArray("#upd"));
             return;
         }
 
@@ -211,15 +212,64 @@ protected void scheduleInit() {
     @Override
     public CompoundTag getUpdateTag() {
         var data = new CompoundTag();
+        data.putByteArray("#upd", writeUpdateData());
+        // This tag may be sent to a subset of players (i.e. those who start watching the chunk) that already had
+        // newer data than others, so the next update must be sent regardless.
+        this.lastSentUpdateData = null;
+        return data;
+    }
 
+    private byte[] writeUpdateData() {
         var stream = new FriendlyByteBuf(Unpooled.buffer());
         this.writeToStream(stream);
 
         stream.capacity(stream.readableBytes());
-        data.putByteArray("#upd", stream.array());
+        return stream.array();
+    }
+
+    /**
+     * Called at the end of the tick in which this block entity was {@link #markForUpdate() marked for an update}.
+     *
+     * @return The data to send to clients, or null if nothing has changed since the data was last sent.
+     */
+    @ApiStatus.Internal
+    @Nullable
+    public byte[] pollUpdateData() {
+        this.updateQueued = false;
+        if (this.isRemoved() || notLoaded()) {
+            return null;
+        }
+
+        var data = writeUpdateData();
+        if (Arrays.equals(data, this.lastSentUpdateData)) {
+            return null;
+        }
+        this.lastSentUpdateData = data;
         return data;
     }
 
+    /**
+     * Called at the end of the tick in which this block entity was {@link #markForUpdate() marked for an update}, if
+     * nobody needs to receive the update.
+     */
+    @ApiStatus.Internal
+    public void discardQueuedUpdate() {
+        this.updateQueued = false;
+    }
+
+    /**
+     * Applies data written by {@link #writeToStream} on the client.
+     */
+    public void receiveUpdateData(byte[] updateData) {
+        if (readUpdateData(new FriendlyByteBuf(Unpooled.wrappedBuffer(updateData)))) {
+            // Triggers a chunk re-render if the level is already loaded
+            if (level != null) {
+                requestModelDataUpdate();
+                level.sendBlockUpdated(getBlockPos(), getBlockState(), getBlockState(), 0);
+            }
+        }
+    }
+
     private boolean readUpdateData(FriendlyByteBuf stream) {
         boolean output = false;
 
@@ -267,7 +317,6 @@ public void markForUpdate() {
         // Clearing the cached model-data is always harmless regardless of status
         this.requestModelDataUpdate();
 
-        // TODO: Optimize Network Load
         if (this.level != null && !this.isRemoved() && !notLoaded()) {
 
             boolean alreadyUpdated = false;
@@ -282,7 +331,18 @@ public void markForUpdate() {
                 }
             }
 
-            if (!alreadyUpdated) {
+            if (alreadyUpdated) {
+                // The block update already includes our data
+                return;
+            }
+
+            if (this.level instanceof ServerLevel) {
+                // Repeated changes in the same tick are coalesced into a single update at the end of the tick
+                if (!this.updateQueued) {
+                    TickHandler.instance().addBlockEntityUpdate(this);
+                    this.updateQueued = true;
+                }
+            } else {
                 this.level.sendBlockUpdated(this.worldPosition, currentState, currentState, Block.UPDATE_NEIGHBORS);
             }
         }
@@ -18,6 +18,8 @@
 
 package appeng.blockentity.crafting;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.jetbrains.annotations.Nullable;
@@ -25,6 +27,8 @@
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -60,6 +64,7 @@
 import appeng.api.util.AECableType;
 import appeng.blockentity.grid.AENetworkInvBlockEntity;
 import appeng.client.render.crafting.AssemblerAnimationStatus;
+import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.AppEng;
 import appeng.core.definitions.AEBlocks;
@@ -97,6 +102,17 @@ public class MolecularAssemblerBlockEntity extends AENetworkInvBlockEntity
     private boolean isAwake = false;
     private boolean forcePlan = false;
     private boolean reboot = true;
+    /**
+     * Ingredients of identical jobs that were pushed by the pattern provider while the current job was still being
+     * crafted. Each entry holds the contents of the 9 crafting grid slots. The next job is moved into the crafting grid
+     * as soon as the current one is done.
+     */
+    private final List<ItemStack[]> queuedJobs = new ArrayList<>();
+    /**
+     * True if the crafting grid holds the remainders of a finished job, which have to be ejected before the next queued
+     * job can be started.
+     */
+    private boolean holdingLeftovers = false;
 
     @OnlyIn(Dist.CLIENT)
     private AssemblerAnimationStatus animationStatus;
@@ -146,7 +162,7 @@ public PatternContainerGroup getCraftingMachineInfo() {
     public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] table,
             Direction where) {
         if (this.myPattern.isEmpty()) {
-            boolean isEmpty = this.gridInv.isEmpty() && this.patternInv.isEmpty();
+            boolean isEmpty = this.gridInv.isEmpty() && this.patternInv.isEmpty() && this.queuedJobs.isEmpty();
 
             // Only accept our own crafting patterns!
             if (isEmpty && patternDetails instanceof IMolecularAssemblerSupportedPattern pattern) {
@@ -156,19 +172,74 @@ public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] table,
                 this.myPlan = pattern;
                 this.pushDirection = where;
 
+                this.holdingLeftovers = false;
+
                 this.fillGrid(table, pattern);
 
                 this.updateSleepiness();
                 this.saveChanges();
                 return true;
             }
+
+            if (canQueueJob(patternDetails, where)) {
+                var job = new ItemStack[9];
+                Arrays.fill(job, ItemStack.EMPTY);
+                this.myPlan.fillCraftingGrid(table, (slot, stack) -> job[slot] = stack);
+                checkTableEmpty(table);
+                this.queuedJobs.add(job);
+
+                this.updateSleepiness();
+                this.saveChanges();
+                return true;
+            }
         }
         return false;
     }
 
+    /**
+     * While crafting a job pushed by a pattern provider, further jobs for the same pattern from the same provider are
+     * queued, so the assembler doesn't idle while the provider waits for it to become empty again. Providers push to
+     * their crafting machines in round-robin order, so adjacent idle assemblers still get their share of the jobs.
+     */
+    private boolean canQueueJob(IPatternDetails patternDetails, Direction where) {
+        return this.forcePlan
+                && this.myPlan != null
+                && where == this.pushDirection
+                && this.patternInv.isEmpty()
+                && this.queuedJobs.size() < AEConfig.instance().getMolecularAssemblerPipelineDepth()
+                && this.myPlan.getDefinition().equals(patternDetails.getDefinition());
+    }
+
+    /**
+     * Moves the ingredients of the next queued job into the crafting grid, if the grid is empty.
+     *
+     * @return true if a job was started.
+     */
+    private boolean startNextQueuedJob() {
+        if (this.queuedJobs.isEmpty()) {
+            return false;
+        }
+        for (int x = 0; x < 9; x++) {
+            if (!this.gridInv.getStackInSlot(x).isEmpty()) {
+                return false;
+            }
+        }
+
+        var job = this.queuedJobs.remove(0);
+        for (int x = 0; x < 9; x++) {
+            this.gridInv.setItemDirect(x, job[x]);
+        }
+        this.holdingLeftovers = false;
+        this.saveChanges();
+        return true;
+    }
+
     private void fillGrid(KeyCounter[] table, IMolecularAssemblerSupportedPattern adapter) {
         adapter.fillCraftingGrid(table, this.gridInv::setItemDirect);
+        checkTableEmpty(table);
+    }
 
+    private static void checkTableEmpty(KeyCounter[] table) {
         // Sanity check
         for (var list : table) {
             list.removeZeros();
@@ -180,7 +251,7 @@ private void fillGrid(KeyCounter[] table, IMolecularAssemblerSupportedPattern ad
 
     private void updateSleepiness() {
         final boolean wasEnabled = this.isAwake;
-        this.isAwake = this.myPlan != null && this.hasMats() || this.canPush();
+        this.isAwake = this.myPlan != null && this.hasMats() || this.canPush() || !this.queuedJobs.isEmpty();
         if (wasEnabled != this.isAwake) {
             getMainNode().ifPresent((grid, node) -> {
                 if (this.isAwake) {
@@ -241,6 +312,21 @@ public void saveAdditional(CompoundTag data) {
             }
         }
 
+        if (!this.queuedJobs.isEmpty()) {
+            var jobs = new ListTag();
+            for (var job : this.queuedJobs) {
+                var slots = new ListTag();
+                for (var stack : job) {
+                    slots.add(stack.save(new CompoundTag()));
+                }
+                jobs.add(slots);
+            }
+            data.put("queuedJobs", jobs);
+        }
+        if (this.holdingLeftovers) {
+            data.putBoolean("holdingLeftovers", true);
+        }
+
         this.upgrades.writeToNBT(data, "upgrades");
     }
 
@@ -262,6 +348,17 @@ public void loadTag(CompoundTag data) {
             }
         }
 
+        this.queuedJobs.clear();
+        for (var jobTag : data.getList("queuedJobs", Tag.TAG_LIST)) {
+            var slots = (ListTag) jobTag;
+            var job = new ItemStack[9];
+            for (int x = 0; x < job.length; x++) {
+                job[x] = ItemStack.of(slots.getCompound(x));
+            }
+            this.queuedJobs.add(job);
+        }
+        this.holdingLeftovers = data.getBoolean("holdingLeftovers");
+
         this.upgrades.readFromNBT(data, "upgrades");
         this.recalculatePlan();
     }
@@ -365,12 +462,21 @@ public void addAdditionalDrops(Level level, BlockPos pos, List<ItemStack> drops)
         for (var upgrade : upgrades) {
             drops.add(upgrade);
         }
+
+        for (var job : queuedJobs) {
+            for (var stack : job) {
+                if (!stack.isEmpty()) {
+                    drops.add(stack);
+                }
+            }
+        }
     }
 
     @Override
     public void clearContent() {
         super.clearContent();
         upgrades.clear();
+        queuedJobs.clear();
     }
 
     @Override
@@ -391,14 +497,18 @@ public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall)
             }
 
             this.ejectHeldItems();
+            this.startNextQueuedJob();
             this.updateSleepiness();
             this.progress = 0;
             return this.isAwake ? TickRateModulation.IDLE : TickRateModulation.SLEEP;
         }
 
         if (this.myPlan == null) {
+            // Without a plan, the ingredients of queued jobs can only be ejected. The grid has to be emptied first.
+            this.ejectHeldItems();
+            this.startNextQueuedJob();
             this.updateSleepiness();
-            return TickRateModulation.SLEEP;
+            return this.isAwake ? TickRateModulation.IDLE : TickRateModulation.SLEEP;
         }
 
         if (this.reboot) {
@@ -421,25 +531,50 @@ public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall)
         }
 
         if (this.progress >= 100) {
-            for (int x = 0; x < this.craftingInv.getContainerSize(); x++) {
-                this.craftingInv.setItem(x, this.gridInv.getStackInSlot(x));
-            }
+            // With queued jobs, progress beyond a single craft is used to craft the next jobs right away. The results
+            // are pushed out together.
+            var results = ItemStack.EMPTY;
+            while (this.progress >= 100) {
+                for (int x = 0; x < this.craftingInv.getContainerSize(); x++) {
+                    this.craftingInv.setItem(x, this.gridInv.getStackInSlot(x));
+                }
 
-            this.progress = 0;
-            final ItemStack output = this.myPlan.assemble(this.craftingInv, this.getLevel());
-            if (!output.isEmpty()) {
+                final ItemStack output = this.myPlan.assemble(this.craftingInv, this.getLevel());
+                if (output.isEmpty()) {
+                    this.progress = 0;
+                    break;
+                }
+                if (!canAddToResults(results, output)) {
+                    break;
+                }
+
+                this.progress -= 100;
                 CraftingEvent.fireAutoCraftingEvent(getLevel(), this.myPlan, output, this.craftingInv);
 
-                // pushOut might reset the plan back to null, so get the remaining items before
                 var craftingRemainders = this.myPlan.getRemainingItems(this.craftingInv);
-
-                this.pushOut(output.copy());
-
                 for (int x = 0; x < this.craftingInv.getContainerSize(); x++) {
                     this.gridInv.setItemDirect(x, craftingRemainders.get(x));
                 }
+                this.holdingLeftovers = !this.queuedJobs.isEmpty();
+
+                if (results.isEmpty()) {
+                    results = output.copy();
+                } else {
+                    results.grow(output.getCount());
+                }
 
-                if (this.patternInv.isEmpty()) {
+                if (!this.startNextQueuedJob()) {
+                    this.progress = 0;
+                    break;
+                }
+            }
+
+            if (!results.isEmpty()) {
+                var item = AEItemKey.of(results);
+
+                this.pushOut(results);
+
+                if (this.patternInv.isEmpty() && this.queuedJobs.isEmpty()) {
                     this.forcePlan = false;
                     this.myPlan = null;
                     this.pushDirection = null;
@@ -447,7 +582,6 @@ public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall)
 
                 this.ejectHeldItems();
 
-                var item = AEItemKey.of(output);
                 if (item != null) {
                     final PacketDistributor.TargetPoint where = new PacketDistributor.TargetPoint(
                             this.worldPosition.getX(), this.worldPosition.getY(),
@@ -467,12 +601,17 @@ public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall)
         return TickRateModulation.FASTER;
     }
 
+    private static boolean canAddToResults(ItemStack results, ItemStack output) {
+        return results.isEmpty() || ItemStack.isSameItemSameTags(results, output)
+                && results.getCount() + output.getCount() <= results.getMaxStackSize();
+    }
+
     private void ejectHeldItems() {
         if (this.gridInv.getStackInSlot(9).isEmpty()) {
             for (int x = 0; x < 9; x++) {
                 final ItemStack is = this.gridInv.getStackInSlot(x);
-                if (!is.isEmpty()
-                        && (this.myPlan == null || !this.myPlan.isItemValid(x, AEItemKey.of(is), this.level))) {
+                if (!is.isEmpty() && (this.myPlan == null || this.holdingLeftovers
+                        || !this.myPlan.isItemValid(x, AEItemKey.of(is), this.level))) {
                     this.gridInv.setItemDirect(9, is);
                     this.gridInv.setItemDirect(x, ItemStack.EMPTY);
                     this.saveChanges();
@@ -501,7 +640,7 @@ private void pushOut(ItemStack output) {
             output = this.pushTo(output, this.pushDirection);
         }
 
-        if (output.isEmpty() && this.forcePlan) {
+        if (output.isEmpty() && this.forcePlan && this.queuedJobs.isEmpty()) {
             this.forcePlan = false;
             this.recalculatePlan();
         }
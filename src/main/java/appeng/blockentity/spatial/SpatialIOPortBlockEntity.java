@@ -37,7 +37,11 @@
 import appeng.api.networking.events.GridSpatialEvent;
 import appeng.api.util.AECableType;
 import appeng.blockentity.grid.AENetworkInvBlockEntity;
+import appeng.core.AEConfig;
 import appeng.hooks.ticking.TickHandler;
+import appeng.items.storage.SpatialStorageCellItem;
+import appeng.spatial.SpatialStorageHelper;
+import appeng.spatial.SpatialStoragePlotManager;
 import appeng.util.ILevelRunnable;
 import appeng.util.inv.AppEngInternalInventory;
 import appeng.util.inv.FilteredInternalInventory;
@@ -53,6 +57,13 @@ public class SpatialIOPortBlockEntity extends AENetworkInvBlockEntity {
 
     private boolean isActive = false;
 
+    /**
+     * Game time at which a pending transition started waiting for its chunks to load, or -1.
+     */
+    private long chunkWaitStart = -1;
+    private int loadedChunks;
+    private int totalChunks;
+
     public SpatialIOPortBlockEntity(BlockEntityType<?> blockEntityType, BlockPos pos, BlockState blockState) {
         super(blockEntityType, pos, blockState);
         this.getMainNode().setFlags(GridFlags.REQUIRE_CHANNEL);
@@ -115,6 +126,27 @@ public boolean isActive() {
         }
     }
 
+    /**
+     * @return True while a transition is waiting for the affected chunks to be loaded.
+     */
+    public boolean isWaitingForChunks() {
+        return this.chunkWaitStart != -1;
+    }
+
+    /**
+     * @return The number of chunks affected by the waiting transition that have been loaded so far.
+     */
+    public int getLoadedChunks() {
+        return isWaitingForChunks() ? this.loadedChunks : 0;
+    }
+
+    /**
+     * @return The number of chunks affected by the waiting transition.
+     */
+    public int getTotalChunks() {
+        return isWaitingForChunks() ? this.totalChunks : 0;
+    }
+
     @Override
     public void onMainNodeStateChanged(IGridNodeListener.State reason) {
         if (reason != IGridNodeListener.State.GRID_BOOT) {
@@ -125,7 +157,8 @@ public void onMainNodeStateChanged(IGridNodeListener.State reason) {
     private void triggerTransition() {
         if (!isClientSide()) {
             final ItemStack cell = this.inv.getStackInSlot(0);
-            if (this.isSpatialCell(cell)) {
+            // Transitions that are already waiting for their chunks don't need to be triggered again
+            if (this.isSpatialCell(cell) && this.chunkWaitStart == -1) {
                 // this needs to be cross world synced.
                 TickHandler.instance().addCallable(null, transitionCallback);
             }
@@ -140,24 +173,34 @@ private boolean isSpatialCell(ItemStack cell) {
     }
 
     private void transition() {
-        if (!(this.level instanceof ServerLevel serverLevel)) {
+        if (!(this.level instanceof ServerLevel serverLevel) || isRemoved()) {
+            this.chunkWaitStart = -1;
             return;
         }
 
         final ItemStack cell = this.inv.getStackInSlot(0);
         if (!this.isSpatialCell(cell) || !this.inv.getStackInSlot(1).isEmpty()) {
+            this.chunkWaitStart = -1;
             return;
         }
 
         final ISpatialStorageCell sc = (ISpatialStorageCell) cell.getItem();
 
         if (!getMainNode().isActive()) {
+            this.chunkWaitStart = -1;
             return;
         }
 
         getMainNode().ifPresent((grid, node) -> {
             var spc = grid.getSpatialService();
             if (!spc.hasRegion() || !spc.isValidRegion()) {
+                this.chunkWaitStart = -1;
+                return;
+            }
+
+            if (!this.requestAffectedChunks(serverLevel, spc.getMin(), spc.getMax(), cell)) {
+                // Try again next tick
+                TickHandler.instance().addCallable(null, transitionCallback);
                 return;
             }
 
@@ -181,6 +224,42 @@ private void transition() {
         });
     }
 
+    /**
+     * Requests the chunks on both sides of the transition to be loaded in the background, so the transition itself does
+     * not stall the server by loading them from disk.
+     *
+     * @return True if the transition should happen now.
+     */
+    private boolean requestAffectedChunks(ServerLevel level, BlockPos min, BlockPos max, ItemStack cell) {
+        var helper = SpatialStorageHelper.getInstance();
+        var request = new SpatialStorageHelper.ChunkRequest(AEConfig.instance().getSpatialMaxLoadingChunks());
+        helper.requestChunks(level, min, max, request);
+
+        // A new plot will be allocated if the cell doesn't have one yet, in which case the chunks will be generated
+        if (cell.getItem() instanceof SpatialStorageCellItem cellItem) {
+            var manager = SpatialStoragePlotManager.INSTANCE;
+            var plot = manager.getPlot(cellItem.getAllocatedPlotId(cell));
+            if (plot != null) {
+                var origin = plot.getOrigin();
+                helper.requestChunks(manager.getLevel(), origin.offset(-1, -1, -1), origin.offset(plot.getSize()),
+                        request);
+            }
+        }
+
+        this.loadedChunks = request.getLoaded();
+        this.totalChunks = request.getTotal();
+
+        var now = level.getGameTime();
+        if (this.chunkWaitStart == -1) {
+            this.chunkWaitStart = now;
+        }
+        if (request.isDone() || now - this.chunkWaitStart >= AEConfig.instance().getSpatialChunkWaitTicks()) {
+            this.chunkWaitStart = -1;
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public AECableType getCableConnectionType(Direction dir) {
         return AECableType.SMART;
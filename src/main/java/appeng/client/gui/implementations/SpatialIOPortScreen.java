@@ -49,7 +49,9 @@ protected void updateBeforeRender() {
         setTextContent("efficiency", GuiText.Efficiency.text((float) this.menu.getEfficency() / 100));
 
         Component scsSizeText;
-        if (this.menu.xSize != 0 && this.menu.ySize != 0 && this.menu.zSize != 0) {
+        if (this.menu.totalChunks > 0) {
+            scsSizeText = GuiText.SpatialLoadingChunks.text(this.menu.loadedChunks, this.menu.totalChunks);
+        } else if (this.menu.xSize != 0 && this.menu.ySize != 0 && this.menu.zSize != 0) {
             scsSizeText = GuiText.SCSSize.text(this.menu.xSize, this.menu.ySize, this.menu.zSize);
         } else {
             scsSizeText = GuiText.SCSInvalid.text();
@@ -78,6 +78,7 @@
 import appeng.core.network.NetworkHandler;
 import appeng.core.network.bidirectional.ConfigValuePacket;
 import appeng.core.network.serverbound.MEInteractionPacket;
+import appeng.core.network.serverbound.MEViewportPacket;
 import appeng.core.network.serverbound.SwitchGuisPacket;
 import appeng.helpers.InventoryAction;
 import appeng.integration.abstraction.ItemListMod;
@@ -115,6 +116,11 @@
     private int currentMouseX = 0;
     private int currentMouseY = 0;
     private final Scrollbar scrollbar;
+    /**
+     * The last viewport request sent to the server.
+     */
+    @Nullable
+    private MEViewportPacket sentViewport;
 
     public MEStorageScreen(C menu, Inventory playerInventory,
             Component title, ScreenStyle style) {
@@ -133,6 +139,7 @@ public MEStorageScreen(C menu, Inventory playerInventory,
         this.repo = new Repo(scrollbar, this);
         menu.setClientRepo(this.repo);
         this.repo.setUpdateViewListener(this::updateScrollbar);
+        this.repo.setViewportMode(config.isServerSideTerminalView());
         updateScrollbar();
 
         this.searchField.setResponder(this::setSearchText);
@@ -366,7 +373,7 @@ private void updateSearch() {
 
             var allEntries = repo.getAllEntries().size();
             var visibleEntries = repo.size();
-            if (allEntries != visibleEntries) {
+            if (allEntries != visibleEntries && !repo.isViewportMode()) {
                 setTextHidden(TEXT_ID_ENTRIES_SHOWN, false);
                 setTextContent(TEXT_ID_ENTRIES_SHOWN, GuiText.ShowingOf.text(visibleEntries, allEntries));
             } else {
@@ -743,6 +750,7 @@ private boolean isHovered() {
     @Override
     public void containerTick() {
         this.repo.setEnabled(this.menu.getLinkStatus().connected());
+        this.repo.precomputeSearch();
 
         if (this.supportsViewCells) {
             List<ItemStack> viewCells = this.menu.getViewCells();
@@ -753,9 +761,35 @@ public void containerTick() {
             }
         }
 
+        updateViewport();
+
         super.containerTick();
     }
 
+    /**
+     * Tells the server which part of the view is shown, if it sorts and filters the view for this screen. Otherwise,
+     * tells it to send the entire network inventory.
+     */
+    private void updateViewport() {
+        MEViewportPacket request;
+        if (repo.isViewportMode()) {
+            var search = repo.getSearchString();
+            if (search.length() > MEViewportPacket.MAX_SEARCH_LENGTH) {
+                search = search.substring(0, MEViewportPacket.MAX_SEARCH_LENGTH);
+            }
+            var slotsPerRow = getSlotsPerRow();
+            request = new MEViewportPacket(menu.containerId, true, search,
+                    scrollbar.getCurrentScroll() * slotsPerRow, rows * slotsPerRow);
+        } else {
+            request = new MEViewportPacket(menu.containerId, false, "", 0, 0);
+        }
+
+        if (!request.equals(sentViewport)) {
+            NetworkHandler.instance().sendToServer(request);
+            sentViewport = request;
+        }
+    }
+
     @Override
     public SortOrder getSortBy() {
         return this.configSrc.getSetting(Settings.SORT_BY);
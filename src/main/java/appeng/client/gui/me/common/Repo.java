@@ -40,8 +40,10 @@
 
 import appeng.api.config.SortDir;
 import appeng.api.config.SortOrder;
+import appeng.api.config.TypeFilter;
 import appeng.api.config.ViewItems;
 import appeng.api.stacks.AEKey;
+import appeng.api.storage.AEKeyFilter;
 import appeng.client.gui.me.search.RepoSearch;
 import appeng.client.gui.widgets.IScrollSource;
 import appeng.client.gui.widgets.ISortSource;
@@ -82,6 +84,26 @@ public class Repo implements IClientRepo {
     private final ISortSource sortSrc;
     private boolean paused;
 
+    /**
+     * The settings {@link #view} was last fully rebuilt with, or null if it has to be rebuilt. As long as they don't
+     * change, updates from the server are applied to the sorted view incrementally.
+     */
+    @Nullable
+    private ViewSettings viewSettings;
+    /**
+     * The total order of {@link #view}. Ties of the sort order are broken by the serial of entries, so that every entry
+     * can be found in the view using a binary search.
+     */
+    private Comparator<GridInventoryEntry> viewComparator;
+
+    /**
+     * If true, the server sorts and filters the view, and only sends the part of it that is currently shown. In that
+     * case, {@link #view} only holds the entries starting at {@link #viewportStart}.
+     */
+    private boolean viewportMode;
+    private int viewportStart;
+    private int viewportSize;
+
     public Repo(IScrollSource src, ISortSource sortSrc) {
         this.src = src;
         this.sortSrc = sortSrc;
@@ -96,15 +118,101 @@ public void setPartitionList(IPartitionList partitionList) {
 
     @Override
     public final void handleUpdate(boolean fullUpdate, List<GridInventoryEntry> entries) {
+        if (this.viewportMode) {
+            // Sent before the server switched to the viewport
+            return;
+        }
+
         if (fullUpdate) {
             clear();
         }
 
+        var incremental = !fullUpdate && canUpdateViewIncrementally();
+        for (var entry : entries) {
+            if (incremental) {
+                var previous = this.entries.get(entry.getSerial());
+                handleUpdate(entry);
+                incremental = updateViewIncrementally(previous, this.entries.get(entry.getSerial()));
+            } else {
+                handleUpdate(entry);
+            }
+        }
+
+        if (incremental) {
+            if (this.updateViewListener != null) {
+                this.updateViewListener.run();
+            }
+        } else {
+            updateView();
+        }
+    }
+
+    @Override
+    public final void handleViewportUpdate(int totalSize, int windowStart, List<GridInventoryEntry> entries) {
+        if (!this.viewportMode) {
+            // Sent before the server switched back to synchronizing everything
+            return;
+        }
+
+        this.entries.clear();
+        this.view.clear();
+        this.view.ensureCapacity(entries.size());
         for (var entry : entries) {
-            handleUpdate(entry);
+            if (entry.getWhat() != null) {
+                this.entries.put(entry.getSerial(), entry);
+                this.view.add(entry);
+            } else {
+                // Keep the position of keys that cannot be read on the client
+                this.view.add(null);
+            }
+        }
+        this.viewportStart = windowStart;
+        this.viewportSize = totalSize;
+
+        if (this.updateViewListener != null) {
+            this.updateViewListener.run();
         }
+    }
 
-        updateView();
+    private boolean canUpdateViewIncrementally() {
+        return !isPaused() && this.viewSettings != null && this.viewSettings.equals(getCurrentViewSettings());
+    }
+
+    /**
+     * Moves an entry that was changed by the server to its new position in the sorted view.
+     *
+     * @return False if the change cannot be applied incrementally, and the view needs to be rebuilt.
+     */
+    private boolean updateViewIncrementally(@Nullable GridInventoryEntry previous,
+            @Nullable GridInventoryEntry current) {
+        // Pinned keys are shown in their own row, which is always rebuilt
+        if (!PinnedKeys.isEmpty() && (previous != null && PinnedKeys.isPinned(previous.getWhat())
+                || current != null && PinnedKeys.isPinned(current.getWhat()))) {
+            return false;
+        }
+
+        var viewMode = this.sortSrc.getSortDisplay();
+        var typeFilter = this.sortSrc.getTypeFilter().getFilter();
+
+        if (previous != null && isVisible(previous, viewMode, typeFilter)) {
+            var idx = Collections.binarySearch(this.view, previous, this.viewComparator);
+            if (idx < 0 || this.view.get(idx).getSerial() != previous.getSerial()) {
+                // The view is not sorted the way we expect it to be
+                return false;
+            }
+            this.view.remove(idx);
+        }
+
+        if (current != null && isVisible(current, viewMode, typeFilter)) {
+            var idx = Collections.binarySearch(this.view, current, this.viewComparator);
+            if (idx >= 0) {
+                // An entry with the same serial is still in the view
+                return false;
+            }
+            this.view.add(-idx - 1, current);
+        }
+
+        return true;
     }
 
     private void handleUpdate(GridInventoryEntry serverEntry) {
@@ -118,6 +226,7 @@ private void handleUpdate(GridInventoryEntry serverEntry) {
             }
             if (serverEntry.isMeaningful()) {
                 entries.put(serverEntry.getSerial(), serverEntry);
+                search.queueTooltip(serverEntry.getWhat());
             }
             return;
         }
@@ -138,6 +247,14 @@ private void handleUpdate(GridInventoryEntry serverEntry) {
     }
 
     public final void updateView() {
+        if (this.viewportMode) {
+            // The server rebuilds the view when the settings change
+            if (this.updateViewListener != null) {
+                this.updateViewListener.run();
+            }
+            return;
+        }
+
         // While the view is paused, we try to only append to the view list in order to avoid mis-clicks by the
         // player due to items shifting under their mouse cursor.
         if (isPaused()) {
@@ -170,6 +287,7 @@ public final void updateView() {
 
             addEntriesToView(entriesToAdd);
         } else {
+            this.viewSettings = getCurrentViewSettings();
             this.view.clear();
             this.pinnedRow.clear();
 
@@ -187,7 +305,12 @@ public final void updateView() {
             var sortOrder = this.sortSrc.getSortBy();
             var sortDir = this.sortSrc.getSortDir();
 
-            this.view.sort(getComparator(sortOrder, sortDir));
+            this.viewComparator = getComparator(sortOrder, sortDir)
+                    .thenComparingLong(GridInventoryEntry::getSerial);
+            this.view.sort(this.viewComparator);
+        } else {
+            // The view is no longer sorted, so it has to be rebuilt before it can be updated incrementally again
+            this.viewSettings = null;
         }
 
         if (this.updateViewListener != null) {
@@ -208,23 +331,7 @@ private void addEntriesToView(Collection<GridInventoryEntry> entries) {
                 continue;
             }
 
-            if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
-                continue;
-            }
-
-            if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
-                continue;
-            }
-
-            if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
-                continue;
-            }
-
-            if (!typeFilter.matches(entry.getWhat())) {
-                continue;
-            }
-
-            if (search.matches(entry)) {
+            if (isVisible(entry, viewMode, typeFilter)) {
                 this.view.add(entry);
             }
         }
@@ -244,6 +351,26 @@ private void addEntriesToView(Collection<GridInventoryEntry> entries) {
         }
     }
 
+    private boolean isVisible(GridInventoryEntry entry, ViewItems viewMode, AEKeyFilter typeFilter) {
+        if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
+            return false;
+        }
+
+        if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
+            return false;
+        }
+
+        if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
+            return false;
+        }
+
+        if (!typeFilter.matches(entry.getWhat())) {
+            return false;
+        }
+
+        return search.matches(entry);
+    }
+
     private void updateEntriesWhilePaused(List<GridInventoryEntry> shownEntries, LongSet visibleSerials) {
         for (int i = 0; i < shownEntries.size(); i++) {
             var entry = shownEntries.get(i);
@@ -305,7 +432,7 @@ private static boolean takeOverSlotOccupiedByRemovedItem(GridInventoryEntry serv
         return true;
     }
 
-    private Comparator<? super GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+    private Comparator<GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
         if (sortOrder == SortOrder.AMOUNT) {
             return sortDir == SortDir.ASCENDING ? AMOUNT_ASC : AMOUNT_DESC;
         }
@@ -332,6 +459,14 @@ public final GridInventoryEntry get(int idx) {
 
         idx += this.src.getCurrentScroll() * this.rowSize;
 
+        if (this.viewportMode) {
+            // Entries outside the last window sent by the server are not known yet
+            idx -= this.viewportStart;
+            if (idx < 0) {
+                return null;
+            }
+        }
+
         if (idx >= this.view.size()) {
             return null;
         }
@@ -339,13 +474,44 @@ public final GridInventoryEntry get(int idx) {
     }
 
     public final int size() {
+        if (this.viewportMode) {
+            return this.viewportSize;
+        }
         return this.view.size() + this.pinnedRow.size();
     }
 
+    /**
+     * Prepares search information for newly received entries ahead of time. Called once per client tick.
+     */
+    public final void precomputeSearch() {
+        this.search.precomputeTooltips();
+    }
+
     public final void clear() {
         this.entries.clear();
         this.view.clear();
         this.pinnedRow.clear();
+        this.viewSettings = null;
+        this.viewportStart = 0;
+        this.viewportSize = 0;
+    }
+
+    public final boolean isViewportMode() {
+        return this.viewportMode;
+    }
+
+    /**
+     * Switches between receiving the entire network inventory and receiving only the shown part of a view that the
+     * server sorts and filters. Pinned keys are not shown in viewport mode.
+     */
+    public final void setViewportMode(boolean viewportMode) {
+        if (this.viewportMode != viewportMode) {
+            this.viewportMode = viewportMode;
+            clear();
+            if (this.updateViewListener != null) {
+                this.updateViewListener.run();
+            }
+        }
     }
 
     public final boolean hasPinnedRow() {
@@ -394,6 +560,9 @@ public void setPaused(boolean paused) {
         }
     }
 
+    /**
+     * In viewport mode, this only includes the entries last sent by the server.
+     */
     @Override
     public Set<GridInventoryEntry> getAllEntries() {
         return entries.values();
@@ -403,6 +572,26 @@ public final void setUpdateViewListener(Runnable updateViewListener) {
         this.updateViewListener = updateViewListener;
     }
 
+    private ViewSettings getCurrentViewSettings() {
+        return new ViewSettings(
+                this.sortSrc.getSortBy(),
+                this.sortSrc.getSortDir(),
+                this.sortSrc.getSortDisplay(),
+                this.sortSrc.getTypeFilter(),
+                this.search.getSearchString(),
+                this.partitionList,
+                this.rowSize);
+    }
+
+    private record ViewSettings(SortOrder sortOrder,
+            SortDir sortDir,
+            ViewItems viewMode,
+            TypeFilter typeFilter,
+            String searchString,
+            @Nullable IPartitionList partitionList,
+            int rowSize) {
+    }
+
     /**
      * Checks if the repo knows that the given key can be crafted.
      */
@@ -1,8 +1,10 @@
 package appeng.client.gui.me.search;
 
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.WeakHashMap;
 import java.util.function.Predicate;
 
@@ -19,6 +21,11 @@
 
 public class RepoSearch {
 
+    /**
+     * How much time per client tick may be spent on computing tooltip text for keys that have not been searched yet.
+     */
+    private static final long TOOLTIP_PRECOMPUTE_NANOS = 1_000_000;
+
     private String searchString = "";
 
     // Cached information
@@ -26,6 +33,10 @@ public class RepoSearch {
     private Predicate<GridInventoryEntry> search = (e) -> true;
 
     private final Map<AEKey, String> tooltipCache = new WeakHashMap<>();
+    /**
+     * Keys whose tooltip text should be computed ahead of the first search that needs it.
+     */
+    private final Queue<AEKey> pendingTooltips = new ArrayDeque<>();
 
     public RepoSearch() {
     }
@@ -36,9 +47,16 @@ public String getSearchString() {
 
     public void setSearchString(String searchString) {
         if (!searchString.equals(this.searchString)) {
+            var refinement = SearchPredicates.isRefinement(this.searchString, searchString);
             this.search = SearchPredicates.fromString(searchString, this);
             this.searchString = searchString;
-            this.cache.clear();
+            if (refinement) {
+                // The new search can only match a subset of what the previous search matched, so entries that
+                // did not match previously don't have to be tested again.
+                this.cache.long2BooleanEntrySet().removeIf(Long2BooleanMap.Entry::getBooleanValue);
+            } else {
+                this.cache.clear();
+            }
         }
     }
 
@@ -46,6 +64,39 @@ public boolean matches(GridInventoryEntry entry) {
         return cache.computeIfAbsent(entry.getSerial(), s -> search.test(entry));
     }
 
+    /**
+     * Queues a key that was newly received from the server for computing its tooltip text ahead of time, if tooltips
+     * are being searched.
+     */
+    public void queueTooltip(AEKey what) {
+        if (AEConfig.instance().isSearchTooltips() && !tooltipCache.containsKey(what)) {
+            pendingTooltips.add(what);
+        }
+    }
+
+    /**
+     * Computes the tooltip text of queued keys within a small time budget, so that the first search of a large
+     * inventory does not have to build the tooltips of all keys in a single frame.
+     */
+    public void precomputeTooltips() {
+        if (pendingTooltips.isEmpty()) {
+            return;
+        }
+        if (!AEConfig.instance().isSearchTooltips()) {
+            pendingTooltips.clear();
+            return;
+        }
+
+        var deadline = System.nanoTime() + TOOLTIP_PRECOMPUTE_NANOS;
+        AEKey what;
+        while ((what = pendingTooltips.poll()) != null) {
+            getTooltipText(what);
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+    }
+
     /**
      * Gets the concatenated text of a keys tooltip for search purposes.
      */
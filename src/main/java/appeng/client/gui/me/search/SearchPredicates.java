@@ -11,6 +11,8 @@
 
 final class SearchPredicates {
 
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
     static Predicate<GridInventoryEntry> fromString(String searchString, RepoSearch repoSearch) {
         if (searchString.startsWith("@")) {
             return createModIdPredicate(searchString.substring(1))
@@ -32,6 +34,26 @@ static Predicate<GridInventoryEntry> fromString(String searchString, RepoSearch
         }
     }
 
+    /**
+     * Checks whether every entry matching <code>current</code> is guaranteed to also match <code>previous</code>. This
+     * is the case if the player just typed more characters, and the search does not use any regular expression
+     * features, which could widen the search (i.e. <code>a</code> followed by <code>a|b</code>).
+     */
+    static boolean isRefinement(String previous, String current) {
+        if (!current.startsWith(previous)) {
+            return false;
+        }
+
+        // The first character selects the search mode and is not part of the pattern
+        for (int i = 1; i < current.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(current.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return current.isEmpty() || REGEX_METACHARACTERS.indexOf(current.charAt(0)) == -1
+                || current.charAt(0) == '*';
+    }
+
     private static Predicate<GridInventoryEntry> createModIdPredicate(String searchText) {
         var searchPattern = createPattern(searchText);
         return entry -> {
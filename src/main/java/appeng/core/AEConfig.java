@@ -300,6 +300,18 @@ public double getGridEnergyStoragePerNode() {
         return COMMON.gridEnergyStoragePerNode.get();
     }
 
+    public int getPowerRestoreBufferTicks() {
+        return COMMON.powerRestoreBufferTicks.get();
+    }
+
+    public int getMaxPowerRestoreDelay() {
+        return COMMON.maxPowerRestoreDelay.get();
+    }
+
+    public int getBrownOutBufferTicks() {
+        return COMMON.brownOutBufferTicks.get();
+    }
+
     public void save() {
     }
 
@@ -438,6 +450,18 @@ public int getGrowthAcceleratorSpeed() {
         return COMMON.growthAcceleratorSpeed.get();
     }
 
+    public int getMolecularAssemblerPipelineDepth() {
+        return COMMON.molecularAssemblerPipelineDepth.get();
+    }
+
+    public int getSpatialChunkWaitTicks() {
+        return COMMON.spatialChunkWaitTicks.get();
+    }
+
+    public int getSpatialMaxLoadingChunks() {
+        return COMMON.spatialMaxLoadingChunks.get();
+    }
+
     public boolean isBlockUpdateLogEnabled() {
         return COMMON.blockUpdateLog.get();
     }
@@ -458,6 +482,10 @@ public int getPathfindingStepsPerTick() {
         return COMMON.pathfindingStepsPerTick.get();
     }
 
+    public int getTerminalAmountUpdateInterval() {
+        return COMMON.terminalAmountUpdateInterval.get();
+    }
+
     /**
      * @return True if an in-world preview of parts and facade placement should be shown when holding one in hand.
      */
@@ -500,6 +528,10 @@ public void setPinAutoCraftedItems(boolean enabled) {
         CLIENT.pinAutoCraftedItems.set(enabled);
     }
 
+    public boolean isServerSideTerminalView() {
+        return CLIENT.serverSideTerminalView.get();
+    }
+
     public boolean isNotifyForFinishedCraftingJobs() {
         return CLIENT.notifyForFinishedCraftingJobs.get();
     }
@@ -551,6 +583,7 @@ private static class ClientConfig {
         // Terminal Settings
         public final EnumOption<TerminalStyle> terminalStyle;
         public final BooleanOption pinAutoCraftedItems;
+        public final BooleanOption serverSideTerminalView;
         public final BooleanOption clearGridOnClose;
         public final IntegerOption terminalMargin;
 
@@ -590,6 +623,8 @@ public ClientConfig(ConfigSection root) {
             this.terminalStyle = terminals.addEnum("terminalStyle", TerminalStyle.SMALL);
             this.pinAutoCraftedItems = terminals.addBoolean("pinAutoCraftedItems", true,
                     "Pin items that the player auto-crafts to the top of the terminal");
+            this.serverSideTerminalView = terminals.addBoolean("serverSideTerminalView", false,
+                    "Let the server sort and filter terminal content and only send the visible part. Reduces memory use and network traffic on very large networks. Sorting by name and searching use the names in the server's language, which may differ from the ones shown. The search matches text literally (no regular expressions) and does not include tooltips, changes to the search are applied with a short delay, and pinned items are not shown.");
             this.clearGridOnClose = client.addBoolean("clearGridOnClose", false,
                     "Automatically clear the crafting/encoding grid when closing the terminal");
             this.terminalMargin = client.addInt("terminalMargin", 25,
@@ -638,13 +673,17 @@ private static class CommonConfig {
         public final EnumOption<ChannelMode> channels;
         public final IntegerOption pathfindingStepsPerTick;
         public final BooleanOption spatialAnchorEnableRandomTicks;
+        public final IntegerOption terminalAmountUpdateInterval;
 
         public final BooleanOption disassemblyCrafting;
         public final IntegerOption growthAcceleratorSpeed;
+        public final IntegerOption molecularAssemblerPipelineDepth;
 
         // Spatial IO/Dimension
         public final DoubleOption spatialPowerExponent;
         public final DoubleOption spatialPowerMultiplier;
+        public final IntegerOption spatialChunkWaitTicks;
+        public final IntegerOption spatialMaxLoadingChunks;
 
         // Logging
         public final BooleanOption blockUpdateLog;
@@ -682,6 +721,9 @@ private static class CommonConfig {
         public final DoubleOption powerRatioForgeEnergy;
         public final DoubleOption powerUsageMultiplier;
         public final DoubleOption gridEnergyStoragePerNode;
+        public final IntegerOption powerRestoreBufferTicks;
+        public final IntegerOption maxPowerRestoreDelay;
+        public final IntegerOption brownOutBufferTicks;
 
         // Vibration Chamber
         public final DoubleOption vibrationChamberBaseEnergyPerFuelTick;
@@ -710,6 +752,8 @@ public CommonConfig(ConfigSection root) {
                     "The number of pathfinding steps that are taken per tick and per grid that is booting. Lower numbers will mean booting takes longer, but less work is done per tick.");
             spatialAnchorEnableRandomTicks = general.addBoolean("spatialAnchorEnableRandomTicks", true,
                     "Whether Spatial Anchors should force random chunk ticks and entity spawning.");
+            terminalAmountUpdateInterval = general.addInt("terminalAmountUpdateInterval", 5, 1, 100,
+                    "The minimum number of ticks between two updates of the amount of the same item in an open terminal. Items whose amount changes continuously are updated less often. Items appearing or disappearing are always sent immediately.");
 
             ConfigSection automation = root.subsection("automation");
             formationPlaneEntityLimit = automation.addInt("formationPlaneEntityLimit", 128);
@@ -728,10 +772,16 @@ public CommonConfig(ConfigSection root) {
                     "Enable shift-clicking with the crafting units in hand to disassemble them.");
             growthAcceleratorSpeed = crafting.addInt("growthAccelerator", 10, 1, 100,
                     "Number of ticks between two crystal growth accelerator ticks");
+            molecularAssemblerPipelineDepth = crafting.addInt("molecularAssemblerPipelineDepth", 4, 0, 64,
+                    "The number of identical crafting jobs a molecular assembler accepts from a pattern provider in addition to the one it is currently crafting. The ingredients of queued jobs are staged inside the assembler, so the next craft can start immediately. 0 disables queueing.");
 
             ConfigSection spatialio = root.subsection("spatialio");
             this.spatialPowerMultiplier = spatialio.addDouble("spatialPowerMultiplier", 1250.0);
             this.spatialPowerExponent = spatialio.addDouble("spatialPowerExponent", 1.35);
+            this.spatialChunkWaitTicks = spatialio.addInt("spatialChunkWaitTicks", 100, 0, 1200,
+                    "How many ticks a spatial transition waits for the affected chunks to be loaded in the background. Chunks that are still missing afterwards are loaded synchronously during the transition. 0 disables waiting.");
+            this.spatialMaxLoadingChunks = spatialio.addInt("spatialMaxLoadingChunks", 64, 1, 4096,
+                    "The maximum number of chunks a spatial transition loads in the background at the same time. This caps the chunk loading cost a large transition adds to each tick while it is waiting.");
 
             var logging = root.subsection("logging");
             blockUpdateLog = logging.addBoolean("blockUpdateLog", false);
@@ -775,6 +825,12 @@ public CommonConfig(ConfigSection root) {
             powerUsageMultiplier = PowerRatios.addDouble("UsageMultiplier", 1.0, 0.01, Double.MAX_VALUE);
             gridEnergyStoragePerNode = PowerRatios.addDouble("GridEnergyStoragePerNode", 25, 1, 1000000,
                     "How much energy can the internal grid buffer storage per node attached to the grid.");
+            powerRestoreBufferTicks = PowerRatios.addInt("PowerRestoreBufferTicks", 20, 0, 1200,
+                    "How many ticks worth of its idle drain a grid needs to have stored before power is restored after it ran out. Prevents grids from flickering when their energy generation barely matches their drain.");
+            maxPowerRestoreDelay = PowerRatios.addInt("MaxPowerRestoreDelay", 600, 30, 12000,
+                    "The maximum number of ticks a grid that keeps running out of energy waits before its power is restored. The delay starts at 30 ticks and doubles every time the grid runs out of energy shortly after its power was restored.");
+            brownOutBufferTicks = PowerRatios.addInt("BrownOutBufferTicks", 100, 0, 12000,
+                    "When the energy stored in a grid would last for fewer ticks than this, crafting CPUs and import/export buses slow down to delay the grid running out of energy. 0 disables this.");
 
             ConfigSection Condenser = root.subsection("Condenser");
             condenserMatterBallsPower = Condenser.addInt("MatterBalls", 256);
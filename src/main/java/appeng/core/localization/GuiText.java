@@ -205,6 +205,7 @@ public enum GuiText implements LocalizationEnum {
     SpatialAnchorUsedPower("Energy Usage: %s"),
     SpatialCapacity("Capacity: %dx%dx%d"),
     SpatialIOPort("Spatial IO Port"),
+    SpatialLoadingChunks("Loading Chunks: %d/%d"),
     Start("Start"),
     StonecuttingPattern("Stonecutting Patterns"),
     StorageBus("Storage Bus"),
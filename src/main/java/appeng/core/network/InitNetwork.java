@@ -7,6 +7,7 @@
 import appeng.core.AppEng;
 import appeng.core.network.bidirectional.ConfigValuePacket;
 import appeng.core.network.clientbound.AssemblerAnimationPacket;
+import appeng.core.network.clientbound.BlockEntityUpdatePacket;
 import appeng.core.network.clientbound.BlockTransitionEffectPacket;
 import appeng.core.network.clientbound.ClearPatternAccessTerminalPacket;
 import appeng.core.network.clientbound.CompassResponsePacket;
@@ -17,6 +18,7 @@
 import appeng.core.network.clientbound.ItemTransitionEffectPacket;
 import appeng.core.network.clientbound.LightningPacket;
 import appeng.core.network.clientbound.MEInventoryUpdatePacket;
+import appeng.core.network.clientbound.MEViewportUpdatePacket;
 import appeng.core.network.clientbound.MatterCannonPacket;
 import appeng.core.network.clientbound.MockExplosionPacket;
 import appeng.core.network.clientbound.NetworkStatusPacket;
@@ -31,6 +33,7 @@
 import appeng.core.network.serverbound.HotkeyPacket;
 import appeng.core.network.serverbound.InventoryActionPacket;
 import appeng.core.network.serverbound.MEInteractionPacket;
+import appeng.core.network.serverbound.MEViewportPacket;
 import appeng.core.network.serverbound.MouseWheelPacket;
 import appeng.core.network.serverbound.PartLeftClickPacket;
 import appeng.core.network.serverbound.SwapSlotsPacket;
@@ -42,6 +45,7 @@ public static void init(RegisterPayloadHandlerEvent event) {
 
         // Clientbound
         clientbound(registrar, AssemblerAnimationPacket.class, AssemblerAnimationPacket::decode);
+        clientbound(registrar, BlockEntityUpdatePacket.class, BlockEntityUpdatePacket::decode);
         clientbound(registrar, BlockTransitionEffectPacket.class, BlockTransitionEffectPacket::decode);
         clientbound(registrar, ClearPatternAccessTerminalPacket.class, ClearPatternAccessTerminalPacket::decode);
         clientbound(registrar, CompassResponsePacket.class, CompassResponsePacket::decode);
@@ -53,6 +57,7 @@ public static void init(RegisterPayloadHandlerEvent event) {
         clientbound(registrar, LightningPacket.class, LightningPacket::decode);
         clientbound(registrar, MatterCannonPacket.class, MatterCannonPacket::decode);
         clientbound(registrar, MEInventoryUpdatePacket.class, MEInventoryUpdatePacket::decode);
+        clientbound(registrar, MEViewportUpdatePacket.class, MEViewportUpdatePacket::decode);
         clientbound(registrar, MockExplosionPacket.class, MockExplosionPacket::decode);
         clientbound(registrar, NetworkStatusPacket.class, NetworkStatusPacket::decode);
         clientbound(registrar, PatternAccessTerminalPacket.class, PatternAccessTerminalPacket::decode);
@@ -68,6 +73,7 @@ public static void init(RegisterPayloadHandlerEvent event) {
         serverbound(registrar, HotkeyPacket.class, HotkeyPacket::decode);
         serverbound(registrar, InventoryActionPacket.class, InventoryActionPacket::decode);
         serverbound(registrar, MEInteractionPacket.class, MEInteractionPacket::decode);
+        serverbound(registrar, MEViewportPacket.class, MEViewportPacket::decode);
         serverbound(registrar, MouseWheelPacket.class, MouseWheelPacket::decode);
         serverbound(registrar, PartLeftClickPacket.class, PartLeftClickPacket::decode);
         serverbound(registrar, SwapSlotsPacket.class, SwapSlotsPacket::decode);
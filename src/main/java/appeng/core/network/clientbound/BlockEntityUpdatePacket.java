@@ -0,0 +1,61 @@
+package appeng.core.network.clientbound;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import appeng.blockentity.AEBaseBlockEntity;
+import appeng.core.network.ClientboundPacket;
+
+/**
+ * Sends the client data of several {@link AEBaseBlockEntity block entities} at once. This replaces individual vanilla
+ * block entity data packets for updates triggered by {@link AEBaseBlockEntity#markForUpdate()}.
+ */
+public record BlockEntityUpdatePacket(List<Update> updates) implements ClientboundPacket {
+
+    public record Update(BlockPos pos, byte[] data) {
+        /**
+         * @return An upper bound for the number of bytes this update takes up in the packet.
+         */
+        public int estimatedSize() {
+            return Long.BYTES + 5 + data.length;
+        }
+    }
+
+    public static BlockEntityUpdatePacket decode(FriendlyByteBuf stream) {
+        var count = stream.readVarInt();
+        var updates = new ArrayList<Update>(count);
+        for (int i = 0; i < count; i++) {
+            var pos = stream.readBlockPos();
+            var data = stream.readByteArray();
+            updates.add(new Update(pos, data));
+        }
+        return new BlockEntityUpdatePacket(updates);
+    }
+
+    @Override
+    public void write(FriendlyByteBuf data) {
+        data.writeVarInt(updates.size());
+        for (var update : updates) {
+            data.writeBlockPos(update.pos());
+            data.writeByteArray(update.data());
+        }
+    }
+
+    @Override
+    @OnlyIn(Dist.CLIENT)
+    public void handleOnClient(Player player) {
+        var level = player.level();
+        for (var update : updates) {
+            if (level.isLoaded(update.pos())
+                    && level.getBlockEntity(update.pos()) instanceof AEBaseBlockEntity blockEntity) {
+                blockEntity.receiveUpdateData(update.data());
+            }
+        }
+    }
+}
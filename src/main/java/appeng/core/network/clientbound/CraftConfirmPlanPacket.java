@@ -1,6 +1,8 @@
-
 package appeng.core.network.clientbound;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Player;
 import net.neoforged.api.distmarker.Dist;
@@ -9,25 +11,61 @@
 import appeng.core.network.ClientboundPacket;
 import appeng.menu.me.crafting.CraftConfirmMenu;
 import appeng.menu.me.crafting.CraftingPlanSummary;
+import appeng.menu.me.crafting.CraftingPlanSummaryEntry;
 
 /**
- * Transfers a {@link CraftingPlanSummary} to the client for a {@link CraftConfirmMenu}
+ * Transfers a page of a {@link CraftingPlanSummary} to the client for a {@link CraftConfirmMenu}. The first page
+ * (<code>offset</code> 0) starts a new plan on the client, subsequent pages are appended to it.
  */
-public record CraftConfirmPlanPacket(CraftingPlanSummary plan) implements ClientboundPacket {
+public record CraftConfirmPlanPacket(long usedBytes,
+        boolean simulation,
+        int totalEntries,
+        int offset,
+        List<CraftingPlanSummaryEntry> page) implements ClientboundPacket {
+
+    public static CraftConfirmPlanPacket page(CraftingPlanSummary plan, int offset, int maxEntries) {
+        return new CraftConfirmPlanPacket(plan.getUsedBytes(), plan.isSimulation(), plan.getTotalEntries(), offset,
+                plan.getPage(offset, maxEntries));
+    }
+
     public static CraftConfirmPlanPacket decode(FriendlyByteBuf data) {
-        return new CraftConfirmPlanPacket(CraftingPlanSummary.read(data));
+        var usedBytes = data.readVarLong();
+        var simulation = data.readBoolean();
+        var totalEntries = data.readVarInt();
+        var offset = data.readVarInt();
+        var pageSize = data.readVarInt();
+        var page = new ArrayList<CraftingPlanSummaryEntry>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(CraftingPlanSummaryEntry.read(data));
+        }
+        return new CraftConfirmPlanPacket(usedBytes, simulation, totalEntries, offset, page);
     }
 
     @Override
     public void write(FriendlyByteBuf data) {
-        plan.write(data);
+        data.writeVarLong(usedBytes);
+        data.writeBoolean(simulation);
+        data.writeVarInt(totalEntries);
+        data.writeVarInt(offset);
+        data.writeVarInt(page.size());
+        for (var entry : page) {
+            entry.write(data);
+        }
     }
 
     @Override
     @OnlyIn(Dist.CLIENT)
     public void handleOnClient(Player player) {
         if (player.containerMenu instanceof CraftConfirmMenu menu) {
-            menu.setPlan(plan);
+            var plan = menu.getPlan();
+            if (offset == 0) {
+                plan = new CraftingPlanSummary(usedBytes, simulation, totalEntries);
+                menu.setPlan(plan);
+            } else if (plan == null || plan.getEntries().size() != offset) {
+                // Page of a plan that has since been replaced
+                return;
+            }
+            plan.addPage(page);
         }
     }
 }
@@ -12,6 +12,7 @@
 
 import io.netty.buffer.Unpooled;
 
+import net.minecraft.client.Minecraft;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Player;
 import net.neoforged.api.distmarker.Dist;
@@ -24,12 +25,20 @@
 import appeng.core.network.ClientboundPacket;
 import appeng.menu.me.common.GridInventoryEntry;
 import appeng.menu.me.common.IncrementalUpdateHelper;
+import appeng.menu.me.common.KeyDictionary;
 import appeng.menu.me.common.MEStorageMenu;
 
+/**
+ * Keys are written using the {@link KeyDictionary} of the player's connection, so keys the client has already seen are
+ * only sent as a reference. Decoding entries is deferred to the client thread, where the client's copy of the
+ * dictionary is updated in the same order as the server's.
+ *
+ * @param resetKeys Indicates that the server cleared its key dictionary before encoding this packet.
+ */
 public record MEInventoryUpdatePacket(
         boolean fullUpdate,
+        boolean resetKeys,
         int containerId,
-        @Nullable List<GridInventoryEntry> entries,
         int encodedEntryCount,
         @Nullable FriendlyByteBuf encodedEntries
 
@@ -48,20 +57,27 @@ public record MEInventoryUpdatePacket(
     public static MEInventoryUpdatePacket decode(FriendlyByteBuf data) {
         var containerId = data.readVarInt();
         var fullUpdate = data.readBoolean();
+        var resetKeys = data.readBoolean();
         var encodedEntryCount = data.readVarInt();
-        var entries = decodeEntriesPayload(encodedEntryCount, data);
-        return new MEInventoryUpdatePacket(fullUpdate, containerId, entries, 0, null);
+        FriendlyByteBuf encodedEntries = null;
+        if (encodedEntryCount > 0) {
+            // Copy into an unpooled buffer, since decoding is deferred until the packet is handled
+            encodedEntries = new FriendlyByteBuf(Unpooled.wrappedBuffer(data.readByteArray()));
+        }
+        return new MEInventoryUpdatePacket(fullUpdate, resetKeys, containerId, encodedEntryCount, encodedEntries);
     }
 
     @Override
     public void write(FriendlyByteBuf data) {
         data.writeVarInt(containerId);
         data.writeBoolean(fullUpdate);
+        data.writeBoolean(resetKeys);
         data.writeVarInt(encodedEntryCount);
         if (encodedEntryCount > 0) {
             if (encodedEntries == null) {
                 throw new UnsupportedOperationException("Use the builder");
             }
+            data.writeVarInt(encodedEntries.readableBytes());
             encodedEntries.getBytes(encodedEntries.readerIndex(), data, encodedEntries.readableBytes());
         }
     }
@@ -72,6 +88,9 @@ public static class Builder {
         private final int containerId;
         private boolean fullUpdate;
 
+        private final KeyDictionary keyDictionary;
+        private boolean resetKeys;
+
         @Nullable
         private FriendlyByteBuf encodedEntries;
 
@@ -80,15 +99,30 @@ public static class Builder {
         @Nullable
         private AEKeyFilter filter;
 
-        public Builder(int containerId, boolean fullUpdate) {
+        /**
+         * Limits how many bytes of entries {@link #addChanges} encodes in one go.
+         */
+        private long byteBudget = Long.MAX_VALUE;
+        private long bytesWritten;
+
+        public Builder(int containerId, boolean fullUpdate, KeyDictionary keyDictionary) {
             this.containerId = containerId;
             this.fullUpdate = fullUpdate;
+            this.keyDictionary = keyDictionary;
         }
 
         public void setFilter(@Nullable AEKeyFilter filter) {
             this.filter = filter;
         }
 
+        /**
+         * Limits the number of bytes {@link #addChanges} will encode. Changes that do not fit remain queued in the
+         * update helper for the next update.
+         */
+        public void setByteBudget(long byteBudget) {
+            this.byteBudget = byteBudget;
+        }
+
         public void addFull(IncrementalUpdateHelper updateHelper,
                 KeyCounter networkStorage,
                 Set<AEKey> craftables,
@@ -117,7 +151,17 @@ public void addChanges(IncrementalUpdateHelper updateHelper,
                 KeyCounter networkStorage,
                 Set<AEKey> craftables,
                 KeyCounter requestables) {
-            for (AEKey key : updateHelper) {
+            var it = updateHelper.iterator();
+            while (it.hasNext()) {
+                if (bytesWritten >= byteBudget) {
+                    // Keep the remaining changes for the next update, but make sure that they are not
+                    // treated as a full update again.
+                    updateHelper.commitSentChanges();
+                    return;
+                }
+
+                var key = it.next();
+                it.remove();
                 if (this.filter != null && !this.filter.matches(key)) {
                     continue;
                 }
@@ -153,14 +197,24 @@ public void addChanges(IncrementalUpdateHelper updateHelper,
         }
 
         public void add(GridInventoryEntry entry) {
+            if (entry.getWhat() != null && keyDictionary.isFullFor(entry.getWhat())) {
+                // Entries that were already encoded refer to the current dictionary, so the reset
+                // has to happen in-between two packets.
+                flushData();
+                keyDictionary.clear();
+                resetKeys = true;
+            }
+
             FriendlyByteBuf data = ensureData();
+            var sizeBefore = data.writerIndex();
 
             // This should only error out if the entire packet exceeds about 2 megabytes of memory,
             // if any item writes that much junk to a share tag, it's acceptable to crash.
             // We'll normally flush much much earlier (32k)
-            writeEntry(data, entry);
+            writeEntry(data, entry, keyDictionary);
 
             ++entryCount;
+            bytesWritten += data.writerIndex() - sizeBefore;
 
             if (data.writerIndex() >= UNCOMPRESSED_PACKET_BYTE_LIMIT || entryCount >= Short.MAX_VALUE) {
                 flushData();
@@ -170,12 +224,14 @@ public void add(GridInventoryEntry entry) {
         private void flushData() {
             if (encodedEntries != null) {
                 // Build a packet and queue it
-                var packet = new MEInventoryUpdatePacket(fullUpdate, containerId, null, entryCount, encodedEntries);
+                var packet = new MEInventoryUpdatePacket(fullUpdate, resetKeys, containerId, entryCount,
+                        encodedEntries);
                 packets.add(packet);
 
                 // Reset
                 encodedEntries = null;
                 entryCount = 0;
+                resetKeys = false;
                 fullUpdate = false; // Only the first packet in a chain is a full update
             }
         }
@@ -200,16 +256,16 @@ public void buildAndSend(Consumer<MEInventoryUpdatePacket> sender) {
 
     }
 
-    public static Builder builder(int containerId, boolean fullUpdate) {
-        return new Builder(containerId, fullUpdate);
+    public static Builder builder(int containerId, boolean fullUpdate, KeyDictionary keyDictionary) {
+        return new Builder(containerId, fullUpdate, keyDictionary);
     }
 
     /**
      * Writes this entry to a packet buffer for shipping it to the client.
      */
-    private static void writeEntry(FriendlyByteBuf buffer, GridInventoryEntry entry) {
+    static void writeEntry(FriendlyByteBuf buffer, GridInventoryEntry entry, KeyDictionary keyDictionary) {
         buffer.writeVarLong(entry.getSerial());
-        AEKey.writeOptionalKey(buffer, entry.getWhat());
+        keyDictionary.writeOptionalKey(buffer, entry.getWhat());
         buffer.writeVarLong(entry.getStoredAmount());
         buffer.writeVarLong(entry.getRequestableAmount());
         buffer.writeBoolean(entry.isCraftable());
@@ -218,9 +274,9 @@ private static void writeEntry(FriendlyByteBuf buffer, GridInventoryEntry entry)
     /**
      * Reads an inventory entry from a packet.
      */
-    public static GridInventoryEntry readEntry(FriendlyByteBuf buffer) {
+    static GridInventoryEntry readEntry(FriendlyByteBuf buffer, KeyDictionary keyDictionary) {
         long serial = buffer.readVarLong();
-        AEKey what = AEKey.readOptionalKey(buffer);
+        AEKey what = keyDictionary.readOptionalKey(buffer);
         long storedAmount = buffer.readVarLong();
         long requestableAmount = buffer.readVarLong();
         boolean craftable = buffer.readBoolean();
@@ -230,6 +286,22 @@ public static GridInventoryEntry readEntry(FriendlyByteBuf buffer) {
     @Override
     @OnlyIn(Dist.CLIENT)
     public void handleOnClient(Player player) {
+        var connection = Minecraft.getInstance().getConnection();
+        if (connection == null) {
+            return;
+        }
+
+        // The entries have to be decoded even if the menu is no longer open, since they may
+        // define keys that later packets refer to.
+        var keyDictionary = KeyDictionary.forConnection(connection);
+        if (resetKeys) {
+            keyDictionary.clear();
+        }
+        List<GridInventoryEntry> entries = List.of();
+        if (encodedEntries != null) {
+            entries = decodeEntriesPayload(encodedEntryCount, encodedEntries, keyDictionary);
+        }
+
         if (player.containerMenu.containerId == containerId
                 && player.containerMenu instanceof MEStorageMenu meMenu) {
             var clientRepo = meMenu.getClientRepo();
@@ -238,25 +310,16 @@ public void handleOnClient(Player player) {
                 return;
             }
 
-            // In singleplayer, we're just getting the exact same instance that the builder created
-            // so it has the pre-encoded data.
-            var actualEntries = entries;
-            if (actualEntries == null && encodedEntries != null) {
-                actualEntries = decodeEntriesPayload(encodedEntryCount, encodedEntries);
-            }
-
-            if (actualEntries != null) {
-                clientRepo.handleUpdate(fullUpdate, actualEntries);
-            }
+            clientRepo.handleUpdate(fullUpdate, entries);
         }
     }
 
     @NotNull
-    private static ArrayList<GridInventoryEntry> decodeEntriesPayload(int entryCount, FriendlyByteBuf data) {
-        // We need to access the current screen to know which storage channel was used to serialize this data
+    static ArrayList<GridInventoryEntry> decodeEntriesPayload(int entryCount, FriendlyByteBuf data,
+            KeyDictionary keyDictionary) {
         var entries = new ArrayList<GridInventoryEntry>(entryCount);
         for (int i = 0; i < entryCount; i++) {
-            entries.add(readEntry(data));
+            entries.add(readEntry(data, keyDictionary));
         }
         return entries;
     }
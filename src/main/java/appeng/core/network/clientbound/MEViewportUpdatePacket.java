@@ -0,0 +1,126 @@
+package appeng.core.network.clientbound;
+
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import io.netty.buffer.Unpooled;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import appeng.core.AELog;
+import appeng.core.network.ClientboundPacket;
+import appeng.menu.me.common.GridInventoryEntry;
+import appeng.menu.me.common.KeyDictionary;
+import appeng.menu.me.common.MEStorageMenu;
+
+/**
+ * Sends the part of a terminal's server-side sorted and filtered view that the client currently shows. Replaces the
+ * entries the client knows about. Keys are written using the {@link KeyDictionary} of the player's connection, just
+ * like in {@link MEInventoryUpdatePacket}.
+ *
+ * @param totalSize   The number of entries in the entire view.
+ * @param windowStart The position of the first sent entry in the entire view.
+ * @param resetKeys   Indicates that the server cleared its key dictionary before encoding this packet.
+ */
+public record MEViewportUpdatePacket(
+        int containerId,
+        int totalSize,
+        int windowStart,
+        boolean resetKeys,
+        int encodedEntryCount,
+        @Nullable FriendlyByteBuf encodedEntries) implements ClientboundPacket {
+
+    /**
+     * Encodes the given entries on the server thread, so that the key dictionary is updated in the order packets are
+     * sent.
+     */
+    public static MEViewportUpdatePacket create(int containerId, int totalSize, int windowStart,
+            List<GridInventoryEntry> entries, KeyDictionary keyDictionary) {
+        // All entries go into a single packet, so the dictionary has to be reset before writing the first one
+        var resetKeys = false;
+        for (var entry : entries) {
+            if (entry.getWhat() != null && keyDictionary.isFullFor(entry.getWhat())) {
+                keyDictionary.clear();
+                resetKeys = true;
+                break;
+            }
+        }
+
+        FriendlyByteBuf encodedEntries = null;
+        if (!entries.isEmpty()) {
+            encodedEntries = new FriendlyByteBuf(Unpooled.buffer());
+            for (var entry : entries) {
+                MEInventoryUpdatePacket.writeEntry(encodedEntries, entry, keyDictionary);
+            }
+        }
+        return new MEViewportUpdatePacket(containerId, totalSize, windowStart, resetKeys, entries.size(),
+                encodedEntries);
+    }
+
+    public static MEViewportUpdatePacket decode(FriendlyByteBuf data) {
+        var containerId = data.readVarInt();
+        var totalSize = data.readVarInt();
+        var windowStart = data.readVarInt();
+        var resetKeys = data.readBoolean();
+        var encodedEntryCount = data.readVarInt();
+        FriendlyByteBuf encodedEntries = null;
+        if (encodedEntryCount > 0) {
+            // Copy into an unpooled buffer, since decoding is deferred until the packet is handled
+            encodedEntries = new FriendlyByteBuf(Unpooled.wrappedBuffer(data.readByteArray()));
+        }
+        return new MEViewportUpdatePacket(containerId, totalSize, windowStart, resetKeys, encodedEntryCount,
+                encodedEntries);
+    }
+
+    @Override
+    public void write(FriendlyByteBuf data) {
+        data.writeVarInt(containerId);
+        data.writeVarInt(totalSize);
+        data.writeVarInt(windowStart);
+        data.writeBoolean(resetKeys);
+        data.writeVarInt(encodedEntryCount);
+        if (encodedEntryCount > 0) {
+            if (encodedEntries == null) {
+                throw new UnsupportedOperationException("Use create()");
+            }
+            data.writeVarInt(encodedEntries.readableBytes());
+            encodedEntries.getBytes(encodedEntries.readerIndex(), data, encodedEntries.readableBytes());
+        }
+    }
+
+    @Override
+    @OnlyIn(Dist.CLIENT)
+    public void handleOnClient(Player player) {
+        var connection = Minecraft.getInstance().getConnection();
+        if (connection == null) {
+            return;
+        }
+
+        // The entries have to be decoded even if the menu is no longer open, since they may
+        // define keys that later packets refer to.
+        var keyDictionary = KeyDictionary.forConnection(connection);
+        if (resetKeys) {
+            keyDictionary.clear();
+        }
+        List<GridInventoryEntry> entries = List.of();
+        if (encodedEntries != null) {
+            entries = MEInventoryUpdatePacket.decodeEntriesPayload(encodedEntryCount, encodedEntries, keyDictionary);
+        }
+
+        if (player.containerMenu.containerId == containerId
+                && player.containerMenu instanceof MEStorageMenu meMenu) {
+            var clientRepo = meMenu.getClientRepo();
+            if (clientRepo == null) {
+                AELog.info("Ignoring ME viewport update packet because no client repo is available.");
+                return;
+            }
+
+            clientRepo.handleViewportUpdate(totalSize, windowStart, entries);
+        }
+    }
+}
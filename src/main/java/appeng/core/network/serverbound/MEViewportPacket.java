@@ -0,0 +1,52 @@
+package appeng.core.network.serverbound;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+
+import appeng.core.network.ServerboundPacket;
+import appeng.menu.me.common.MEStorageMenu;
+
+/**
+ * Packet sent by clients to choose whether the server should only send the visible part of a terminal's content, and
+ * which part of the view that is.
+ *
+ * @param enabled False if the client wants to receive the entire network inventory instead.
+ * @param search  The search string entered on the client.
+ * @param offset  The position of the first visible entry in the sorted and filtered view.
+ * @param count   The number of visible entries.
+ */
+public record MEViewportPacket(int containerId, boolean enabled, String search, int offset, int count)
+        implements ServerboundPacket {
+
+    public static final int MAX_SEARCH_LENGTH = 256;
+
+    public static MEViewportPacket decode(FriendlyByteBuf buffer) {
+        var containerId = buffer.readInt();
+        var enabled = buffer.readBoolean();
+        var search = buffer.readUtf(MAX_SEARCH_LENGTH);
+        var offset = buffer.readVarInt();
+        var count = buffer.readVarInt();
+        return new MEViewportPacket(containerId, enabled, search, offset, count);
+    }
+
+    @Override
+    public void write(FriendlyByteBuf data) {
+        data.writeInt(containerId);
+        data.writeBoolean(enabled);
+        data.writeUtf(search, MAX_SEARCH_LENGTH);
+        data.writeVarInt(offset);
+        data.writeVarInt(count);
+    }
+
+    @Override
+    public void handleOnServer(ServerPlayer player) {
+        if (player.containerMenu instanceof MEStorageMenu menu) {
+            // The open screen has changed since the client sent the packet
+            if (player.containerMenu.containerId != containerId) {
+                return;
+            }
+
+            menu.setViewport(enabled, search, offset, count);
+        }
+    }
+}
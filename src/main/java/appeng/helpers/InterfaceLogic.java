@@ -60,6 +60,7 @@
 import appeng.core.definitions.AEItems;
 import appeng.core.settings.TickRates;
 import appeng.me.helpers.MachineSource;
+import appeng.me.service.InterfaceStockingService;
 import appeng.me.storage.DelegatingMEInventory;
 import appeng.util.ConfigInventory;
 import appeng.util.ConfigManager;
@@ -95,6 +96,10 @@ public class InterfaceLogic implements ICraftingRequester, IUpgradeableObject, I
      */
     private boolean hasConfig = false;
     private final ConfigInventory storage;
+    /**
+     * True if work submitted to the {@link InterfaceStockingService} has moved items since the interface last ticked.
+     */
+    private boolean submittedWorkDone = true;
 
     public InterfaceLogic(IManagedGridNode gridNode, InterfaceLogicHost host, Item is) {
         this(gridNode, host, is, 9);
@@ -278,18 +283,51 @@ public int getPriority() {
 
     private boolean updateStorage() {
         boolean didSomething = false;
+        boolean submittedWork = false;
+
+        var grid = mainNode.getGrid();
+        var stockingService = grid != null ? InterfaceStockingService.get(grid) : null;
 
         for (int x = 0; x < plannedWork.length; x++) {
             var work = plannedWork[x];
             if (work != null) {
                 var amount = (int) work.amount();
-                didSomething = this.usePlan(x, work.what(), amount) || didSomething;
+                if (stockingService != null && canSubmitPlan(x, amount)) {
+                    stockingService.submit(this.interfaceRequestSource, this.priority, this.storage, x, work.what(),
+                            amount, this::onSubmittedWorkDone);
+                    submittedWork = true;
+                } else {
+                    didSomething = this.usePlan(x, work.what(), amount) || didSomething;
+                }
             }
         }
 
+        if (submittedWork) {
+            // Submitted work is only performed at the end of the tick, so use the outcome of the previous submission
+            didSomething = this.submittedWorkDone || didSomething;
+            this.submittedWorkDone = false;
+        }
+
         return didSomething;
     }
 
+    /**
+     * Plans that only involve moving the exact planned key to or from network storage are performed in bulk by the
+     * {@link InterfaceStockingService}. Plans that may fall back to fuzzy extraction or crafting are executed directly.
+     */
+    private boolean canSubmitPlan(int slot, int amount) {
+        if (amount < 0) {
+            return true;
+        }
+        return !this.craftingTracker.isBusy(slot)
+                && !upgrades.isInstalled(AEItems.FUZZY_CARD)
+                && !upgrades.isInstalled(AEItems.CRAFTING_CARD);
+    }
+
+    private void onSubmittedWorkDone() {
+        this.submittedWorkDone = true;
+    }
+
     private boolean usePlan(int x, AEKey what, int amount) {
         boolean changed = tryUsePlan(x, what, amount);
 
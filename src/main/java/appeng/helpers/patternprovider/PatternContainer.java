@@ -30,6 +30,15 @@ default boolean isVisibleInTerminal() {
      */
     InternalInventory getTerminalPatternInventory();
 
+    /**
+     * @return A number that changes whenever the content of {@link #getTerminalPatternInventory()} changes, or -1 if
+     *         this container does not track changes. The terminal compares the content of containers that do not track
+     *         changes slot by slot every tick.
+     */
+    default long getTerminalPatternVersion() {
+        return -1;
+    }
+
     /**
      * Order for sorting providers in the terminal. Providers are sorted in ascending order.
      */
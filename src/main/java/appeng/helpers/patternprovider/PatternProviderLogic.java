@@ -99,6 +99,10 @@ public class PatternProviderLogic implements InternalInventoryHost, ICraftingPro
 
     // Pattern storing logic
     private final AppEngInternalInventory patternInventory;
+    /**
+     * Incremented whenever the pattern inventory changes.
+     */
+    private long patternInventoryVersion;
     private final List<IPatternDetails> patterns = new ArrayList<>();
     /**
      * Keeps track of the inputs of all the patterns. When blocking mode is enabled, if any of these is contained in the
@@ -186,6 +190,7 @@ public void writeToNBT(CompoundTag tag) {
     public void readFromNBT(CompoundTag tag) {
         this.configManager.readFromNBT(tag);
         this.patternInventory.readFromNBT(tag, NBT_MEMORY_CARD_PATTERNS);
+        this.patternInventoryVersion++;
         this.priority = tag.getInt(NBT_PRIORITY);
 
         var unlockEventType = tag.getByte(NBT_UNLOCK_EVENT);
@@ -247,6 +252,7 @@ public boolean isClientSide() {
     }
 
     public void updatePatterns() {
+        patternInventoryVersion++;
         patterns.clear();
         patternInputs.clear();
 
@@ -305,21 +311,20 @@ public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHol
             return false;
         }
 
+        record MachineTarget(Direction side, ICraftingMachine machine) {
+        }
         record PushTarget(Direction direction, PatternProviderTarget target) {
         }
+        var possibleMachines = new ArrayList<MachineTarget>();
         var possibleTargets = new ArrayList<PushTarget>();
 
-        // Push to crafting machines first
         for (var direction : getActiveSides()) {
             var adjPos = be.getBlockPos().relative(direction);
             var adjBeSide = direction.getOpposite();
 
             var craftingMachine = ICraftingMachine.of(level, adjPos, adjBeSide);
             if (craftingMachine != null && craftingMachine.acceptsPlans()) {
-                if (craftingMachine.pushPattern(patternDetails, inputHolder, adjBeSide)) {
-                    onPushPatternSuccess(patternDetails);
-                    return true;
-                }
+                possibleMachines.add(new MachineTarget(adjBeSide, craftingMachine));
                 continue;
             }
 
@@ -330,6 +335,17 @@ record PushTarget(Direction direction, PatternProviderTarget target) {
             possibleTargets.add(new PushTarget(direction, adapter));
         }
 
+        // Push to crafting machines first. Round-robin keeps machines that queue jobs (like molecular assemblers) from
+        // taking all of them while the others are idle.
+        rearrangeRoundRobin(possibleMachines);
+        for (var target : possibleMachines) {
+            if (target.machine().pushPattern(patternDetails, inputHolder, target.side())) {
+                onPushPatternSuccess(patternDetails);
+                ++roundRobinIndex;
+                return true;
+            }
+        }
+
         // Rearrange for round-robin
         rearrangeRoundRobin(possibleTargets);
 
@@ -533,6 +549,13 @@ public InternalInventory getPatternInv() {
         return this.patternInventory;
     }
 
+    /**
+     * @see PatternContainer#getTerminalPatternVersion()
+     */
+    public long getPatternInvVersion() {
+        return this.patternInventoryVersion;
+    }
+
     public void onMainNodeStateChanged() {
         if (this.mainNode.isActive()) {
             this.mainNode.ifPresent((grid, node) -> {
@@ -96,6 +96,11 @@ default InternalInventory getTerminalPatternInventory() {
         return getLogic().getPatternInv();
     }
 
+    @Override
+    default long getTerminalPatternVersion() {
+        return getLogic().getPatternInvVersion();
+    }
+
     @Override
     default long getTerminalSortOrder() {
         return getLogic().getSortValue();
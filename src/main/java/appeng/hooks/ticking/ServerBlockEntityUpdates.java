@@ -0,0 +1,136 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.hooks.ticking;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import appeng.blockentity.AEBaseBlockEntity;
+import appeng.core.network.clientbound.BlockEntityUpdatePacket;
+
+/**
+ * Collects the block entities that have been {@link AEBaseBlockEntity#markForUpdate() marked for an update} during a
+ * tick, and sends their client data in bulk at the end of the level tick. Each player receives a single packet with the
+ * updates for all chunks they are watching, and block entities whose data has not actually changed since it was last
+ * sent are skipped.
+ */
+class ServerBlockEntityUpdates {
+    /**
+     * Limits the size of a single update packet well below the maximum size of custom payloads.
+     */
+    private static final int MAX_PACKET_BYTES = 512 * 1024;
+
+    // Mapping is level -> encoded chunk pos -> block entities waiting to be sent
+    private final Map<LevelAccessor, Long2ObjectMap<List<AEBaseBlockEntity>>> pending =
+            new Object2ObjectOpenHashMap<>();
+
+    /**
+     * Resets all internal data
+     */
+    void clear() {
+        this.pending.clear();
+    }
+
+    /**
+     * Queues the block entity to be sent at the end of the current level tick. Callers are responsible for not queuing
+     * the same block entity twice.
+     */
+    void add(AEBaseBlockEntity blockEntity) {
+        var chunkPos = ChunkPos.asLong(blockEntity.getBlockPos());
+        this.pending.computeIfAbsent(blockEntity.getLevel(), key -> new Long2ObjectLinkedOpenHashMap<>())
+                .computeIfAbsent(chunkPos, key -> new ArrayList<>())
+                .add(blockEntity);
+    }
+
+    /**
+     * Tears down data related to a now unloaded level
+     */
+    void removeLevel(LevelAccessor level) {
+        this.pending.remove(level);
+    }
+
+    /**
+     * Sends the data of all block entities that were queued in the given level and have changed.
+     */
+    void sendUpdates(ServerLevel level) {
+        var chunks = this.pending.remove(level);
+        if (chunks == null) {
+            return;
+        }
+
+        var chunkMap = level.getChunkSource().chunkMap;
+        var updatesByPlayer = new IdentityHashMap<ServerPlayer, List<BlockEntityUpdatePacket.Update>>();
+        var chunkUpdates = new ArrayList<BlockEntityUpdatePacket.Update>();
+
+        for (var entry : chunks.long2ObjectEntrySet()) {
+            var players = chunkMap.getPlayers(new ChunkPos(entry.getLongKey()), false);
+            if (players.isEmpty()) {
+                // Players who start watching the chunk later will receive the full chunk data anyway
+                for (var blockEntity : entry.getValue()) {
+                    blockEntity.discardQueuedUpdate();
+                }
+                continue;
+            }
+
+            chunkUpdates.clear();
+            for (var blockEntity : entry.getValue()) {
+                var data = blockEntity.pollUpdateData();
+                if (data != null) {
+                    chunkUpdates.add(new BlockEntityUpdatePacket.Update(blockEntity.getBlockPos(), data));
+                }
+            }
+
+            if (!chunkUpdates.isEmpty()) {
+                for (var player : players) {
+                    updatesByPlayer.computeIfAbsent(player, p -> new ArrayList<>()).addAll(chunkUpdates);
+                }
+            }
+        }
+
+        for (var entry : updatesByPlayer.entrySet()) {
+            send(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void send(ServerPlayer player, List<BlockEntityUpdatePacket.Update> updates) {
+        var batch = new ArrayList<BlockEntityUpdatePacket.Update>();
+        int batchBytes = 0;
+        for (var update : updates) {
+            if (!batch.isEmpty() && batchBytes + update.estimatedSize() > MAX_PACKET_BYTES) {
+                player.connection.send(new BlockEntityUpdatePacket(batch));
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(update);
+            batchBytes += update.estimatedSize();
+        }
+        player.connection.send(new BlockEntityUpdatePacket(batch));
+    }
+}
@@ -58,6 +58,7 @@
 import appeng.crafting.CraftingCalculation;
 import appeng.me.Grid;
 import appeng.me.GridNode;
+import appeng.me.NodeStateNotifications;
 import appeng.util.ILevelRunnable;
 import appeng.util.Platform;
 
@@ -74,6 +75,7 @@ public class TickHandler {
     private final Map<LevelAccessor, Queue<ILevelRunnable>> callQueue = new HashMap<>();
     private final ServerBlockEntityRepo blockEntities = new ServerBlockEntityRepo();
     private final ServerGridRepo grids = new ServerGridRepo();
+    private final ServerBlockEntityUpdates blockEntityUpdates = new ServerBlockEntityUpdates();
 
     /**
      * A stop watch to limit processing the additional queues to honor
@@ -148,6 +150,17 @@ public <T extends BlockEntity> void addInit(T blockEntity, Consumer<? super T> i
         }
     }
 
+    /**
+     * Queue sending the client data of a {@link AEBaseBlockEntity} at the end of the current level tick.
+     * <p>
+     * Must only be called on the server, and at most once until the update has been sent.
+     */
+    public void addBlockEntityUpdate(AEBaseBlockEntity blockEntity) {
+        Platform.assertServerThread();
+
+        this.blockEntityUpdates.add(blockEntity);
+    }
+
     /**
      * Add a new grid for ticking on the next update.
      * <p>
@@ -182,7 +195,9 @@ public Iterable<Grid> getGridList() {
     public void shutdown() {
         Platform.assertServerThread();
         this.blockEntities.clear();
+        this.blockEntityUpdates.clear();
         this.grids.clear();
+        NodeStateNotifications.clear();
     }
 
     /**
@@ -225,6 +240,7 @@ public void onUnloadLevel(final LevelEvent.Unload ev) {
         }
 
         this.blockEntities.removeLevel(level);
+        this.blockEntityUpdates.removeLevel(level);
         this.callQueue.remove(level);
     }
 
@@ -270,6 +286,8 @@ private void onServerLevelTickStart(ServerLevel level) {
                 throw new ReportedException(crashReport);
             }
         }
+
+        NodeStateNotifications.dispatch();
     }
 
     private void onServerLevelTickEnd(ServerLevel level) {
@@ -287,6 +305,11 @@ private void onServerLevelTickEnd(ServerLevel level) {
                 throw new ReportedException(crashReport);
             }
         }
+
+        NodeStateNotifications.dispatch();
+
+        // Send block entity changes last, so that changes made by grids in this tick are included
+        this.blockEntityUpdates.sendUpdates(level);
     }
 
     /**
@@ -316,6 +339,8 @@ private void onServerTickStart() {
                 throw new ReportedException(crashReport);
             }
         }
+
+        NodeStateNotifications.dispatch();
     }
 
     private void onServerTickEnd() {
@@ -330,6 +355,8 @@ private void onServerTickEnd() {
             }
         }
 
+        NodeStateNotifications.dispatch();
+
         // cross level queue.
         processQueueElementsRemaining += this.processQueue(this.serverQueue, null);
 
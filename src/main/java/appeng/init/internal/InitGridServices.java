@@ -27,6 +27,7 @@
 import appeng.api.networking.ticking.ITickManager;
 import appeng.me.service.CraftingService;
 import appeng.me.service.EnergyService;
+import appeng.me.service.InterfaceStockingService;
 import appeng.me.service.P2PService;
 import appeng.me.service.PathingService;
 import appeng.me.service.SpatialPylonService;
@@ -47,5 +48,6 @@ public static void init() {
         GridServices.register(ISpatialService.class, SpatialPylonService.class);
         GridServices.register(ICraftingService.class, CraftingService.class);
         GridServices.register(StatisticsService.class, StatisticsService.class);
+        GridServices.register(InterfaceStockingService.class, InterfaceStockingService.class);
     }
 }
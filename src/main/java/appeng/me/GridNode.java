@@ -92,6 +92,10 @@ public class GridNode implements IGridNode, IPathItem {
     // connection criteria
     private int usedChannels = 0;
     private int lastUsedChannels = 0;
+    /**
+     * Bitmask of {@link IGridNodeListener.State} notifications queued in {@link NodeStateNotifications}.
+     */
+    private int pendingStateChanges = 0;
     private final EnumSet<GridFlags> flags;
     private ClassToInstanceMap<IGridNodeService> services;
 
@@ -136,9 +140,40 @@ public <T> void callListener(ListenerCallback<T> callback) {
 
     /**
      * Notifies the grid node's listener about a potential change in the grid node's status.
+     * <p>
+     * Power and channel changes are queued and delivered once per tick phase. The notification for the grid booting up
+     * is delivered immediately, since listeners need to observe both the start and the end of booting.
      */
     public void notifyStatusChange(IGridNodeListener.State reason) {
-        callListener((listener, owner, node) -> listener.onStateChanged(owner, node, reason));
+        if (reason == IGridNodeListener.State.GRID_BOOT) {
+            callListener((listener, owner, node) -> listener.onStateChanged(owner, node, reason));
+            return;
+        }
+
+        if (this.pendingStateChanges == 0) {
+            NodeStateNotifications.queue(this);
+        }
+        this.pendingStateChanges |= 1 << reason.ordinal();
+    }
+
+    void dispatchPendingStateChanges() {
+        var pending = this.pendingStateChanges;
+        this.pendingStateChanges = 0;
+
+        // Nodes that have been destroyed in the meantime are no longer interested
+        if (this.myGrid == null) {
+            return;
+        }
+
+        for (var state : IGridNodeListener.State.values()) {
+            if ((pending & 1 << state.ordinal()) != 0) {
+                callListener((listener, owner, node) -> listener.onStateChanged(owner, node, state));
+            }
+        }
+    }
+
+    void discardPendingStateChanges() {
+        this.pendingStateChanges = 0;
     }
 
     void addConnection(IGridConnection gridConnection) {
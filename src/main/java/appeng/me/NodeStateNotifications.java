@@ -0,0 +1,93 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import net.minecraft.world.level.ChunkPos;
+
+import appeng.api.networking.IGridNodeListener;
+import appeng.util.Platform;
+
+/**
+ * Queues {@link IGridNodeListener#onStateChanged power and channel state notifications} of grid nodes, so that a node
+ * is notified at most once per state and dispatch phase, no matter how often its state changed in between. A power loss
+ * or channel reassignment in a large grid otherwise causes bursts of listener calls, each of which re-queries the grid
+ * state and possibly causes a client update.
+ * <p>
+ * The queue is dispatched by the {@link appeng.hooks.ticking.TickHandler} after grids have been ticked in each phase.
+ * Nodes are notified grouped by level and chunk.
+ */
+public final class NodeStateNotifications {
+
+    private static final List<GridNode> QUEUE = new ArrayList<>();
+
+    private static final Comparator<GridNode> DISPATCH_ORDER = Comparator
+            .<GridNode>comparingInt(node -> System.identityHashCode(node.getLevel()))
+            .thenComparingLong(NodeStateNotifications::getChunkKey);
+
+    private NodeStateNotifications() {
+    }
+
+    /**
+     * Queues the node, which must not be queued already.
+     */
+    static void queue(GridNode node) {
+        Platform.assertServerThread();
+        QUEUE.add(node);
+    }
+
+    /**
+     * Notifies all queued nodes. Notifications queued by listeners while dispatching are dispatched as well.
+     */
+    public static void dispatch() {
+        while (!QUEUE.isEmpty()) {
+            var nodes = new ArrayList<>(QUEUE);
+            QUEUE.clear();
+            nodes.sort(DISPATCH_ORDER);
+
+            int dispatched = 0;
+            try {
+                for (var node : nodes) {
+                    dispatched++;
+                    node.dispatchPendingStateChanges();
+                }
+            } finally {
+                // If a listener failed, keep the nodes that have not been notified yet queued
+                QUEUE.addAll(nodes.subList(dispatched, nodes.size()));
+            }
+        }
+    }
+
+    public static void clear() {
+        for (var node : QUEUE) {
+            node.discardPendingStateChanges();
+        }
+        QUEUE.clear();
+    }
+
+    private static long getChunkKey(GridNode node) {
+        if (node instanceof InWorldGridNode inWorldNode) {
+            return ChunkPos.asLong(inWorldNode.getLocation());
+        }
+        return Long.MAX_VALUE;
+    }
+}
@@ -18,7 +18,17 @@
 
 package appeng.me.cells;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -27,8 +37,12 @@
 import net.minecraft.world.item.ItemStack;
 
 import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import appeng.api.config.Actionable;
 import appeng.api.config.FuzzyMode;
@@ -46,7 +60,9 @@
 import appeng.api.upgrades.IUpgradeInventory;
 import appeng.core.AELog;
 import appeng.core.definitions.AEItems;
+import appeng.hooks.ticking.TickHandler;
 import appeng.util.ConfigInventory;
+import appeng.util.Platform;
 import appeng.util.prioritylist.FuzzyPriorityList;
 import appeng.util.prioritylist.IPartitionList;
 
@@ -56,6 +72,13 @@ public class BasicCellInventory implements StorageCell {
     private static final String STACK_KEYS = "keys";
     private static final String STACK_AMOUNTS = "amts";
 
+    /**
+     * Builds the key lists of cells off the server thread. A dedicated thread is used, so that saving a cell never
+     * waits for unrelated background work, such as world generation.
+     */
+    private static final ExecutorService KEY_LIST_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AE2 Cell Serializer").build());
+
     private final ISaveProvider container;
     private final AEKeyType keyType;
     private final IPartitionList partitionList;
@@ -69,6 +92,38 @@ public class BasicCellInventory implements StorageCell {
     private final long maxItemsPerType; // max items per type, basically infinite unless there is a distribution card.
     private final boolean hasVoidUpgrade;
     private boolean isPersisted = true;
+    /**
+     * Keys whose amount changed since the cell was last persisted, while the set of stored keys stayed the same.
+     */
+    private final Set<AEKey> changedKeys = new ObjectOpenHashSet<>();
+    /**
+     * Set if keys were added or removed since the cell was last persisted, which requires the key list to be rewritten.
+     */
+    private boolean keysChanged;
+    /**
+     * The position of each key in the persisted key and amount lists. Only valid once the cell items are loaded.
+     */
+    private final Object2IntMap<AEKey> persistedIndex = new Object2IntOpenHashMap<>();
+    /**
+     * The persisted key list that {@link #persistedIndex} refers to. If another inventory for the same stack rewrites
+     * the key list, the tag holds a different list and the index can no longer be used to patch amounts.
+     */
+    @Nullable
+    private Tag persistedKeys;
+    /**
+     * The serialized form of stored keys, to avoid serializing them again every time the key list is rewritten.
+     */
+    private final Map<AEKey, CompoundTag> serializedKeys = new Object2ObjectOpenHashMap<>();
+    /**
+     * Incremented whenever keys are added or removed, to tell whether a {@link KeyListSnapshot} is still current.
+     */
+    private int keysVersion;
+    /**
+     * The key list being built in the background for the next time the cell is persisted.
+     */
+    @Nullable
+    private KeyListSnapshot keyListSnapshot;
+    private boolean keyListSnapshotScheduled;
 
     private BasicCellInventory(IBasicCellItem cellType, ItemStack o, ISaveProvider container) {
         this.i = o;
@@ -191,52 +246,149 @@ public void persist() {
             return;
         }
 
-        long itemCount = 0;
+        var amounts = getTag().getLongArray(STACK_AMOUNTS);
+        if (!keysChanged && amounts.length == persistedIndex.size()
+                && getTag().get(STACK_KEYS) == persistedKeys) {
+            // Only amounts changed, which can be patched into the existing amount list
+            for (var key : changedKeys) {
+                amounts[persistedIndex.getInt(key)] = storedAmounts.getLong(key);
+            }
+            if (amounts.length > 0) {
+                getTag().putLongArray(STACK_AMOUNTS, amounts);
+            }
+        } else {
+            rewriteKeys();
+        }
+        changedKeys.clear();
+        keysChanged = false;
+
+        this.storedItems = (short) this.storedAmounts.size();
+
+        if (storedItemCount == 0) {
+            getTag().remove(ITEM_COUNT_TAG);
+        } else {
+            getTag().putLong(ITEM_COUNT_TAG, storedItemCount);
+        }
+
+        this.isPersisted = true;
+    }
+
+    private void rewriteKeys() {
+        var snapshot = this.keyListSnapshot;
+        this.keyListSnapshot = null;
+        if (snapshot != null && snapshot.keysVersion() == this.keysVersion && snapshot.keyList().isDone()
+                && !snapshot.keyList().isCompletedExceptionally()) {
+            // The set of keys did not change since the snapshot was taken, only their amounts
+            writeKeys(snapshot.keys(), snapshot.keyList().join());
+            return;
+        }
 
-        // add new pretty stuff...
         var amounts = new LongArrayList(storedAmounts.size());
         var keys = new ListTag();
+        persistedIndex.clear();
 
         for (var entry : this.storedAmounts.object2LongEntrySet()) {
             long amount = entry.getLongValue();
 
             if (amount > 0) {
-                itemCount += amount;
-                keys.add(entry.getKey().toTagGeneric());
+                var key = entry.getKey();
+                persistedIndex.put(key, keys.size());
+                keys.add(getSerializedKey(key));
                 amounts.add(amount);
             }
         }
 
+        // Forget about keys that are no longer stored
+        serializedKeys.keySet().retainAll(persistedIndex.keySet());
+
+        writeKeyList(keys, amounts.toArray(new long[0]));
+    }
+
+    /**
+     * Writes a key list that was built in the background, together with the current amounts of its keys.
+     */
+    private void writeKeys(AEKey[] keys, ListTag keyList) {
+        var amounts = new long[keys.length];
+        persistedIndex.clear();
+        serializedKeys.clear();
+        for (int i = 0; i < keys.length; i++) {
+            persistedIndex.put(keys[i], i);
+            serializedKeys.put(keys[i], keyList.getCompound(i));
+            amounts[i] = storedAmounts.getLong(keys[i]);
+        }
+
+        writeKeyList(keyList, amounts);
+    }
+
+    private void writeKeyList(ListTag keys, long[] amounts) {
         if (keys.isEmpty()) {
             getTag().remove(STACK_KEYS);
             getTag().remove(STACK_AMOUNTS);
+            persistedKeys = null;
         } else {
             getTag().put(STACK_KEYS, keys);
-            getTag().putLongArray(STACK_AMOUNTS, amounts.toArray(new long[0]));
+            persistedKeys = keys;
+            getTag().putLongArray(STACK_AMOUNTS, amounts);
         }
+    }
 
-        this.storedItems = (short) this.storedAmounts.size();
+    /**
+     * Takes an immutable snapshot of the stored keys and builds their key list on a background thread, so that it is
+     * ready when the cell is persisted as part of saving its block entity. Only the keys are snapshotted, since amounts
+     * are cheap to collect when persisting and may keep changing until then.
+     */
+    @VisibleForTesting
+    void snapshotKeyList() {
+        this.keyListSnapshotScheduled = false;
+        if (!this.keysChanged || this.isPersisted || this.storedAmounts == null) {
+            return;
+        }
 
-        this.storedItemCount = itemCount;
-        if (itemCount == 0) {
-            getTag().remove(ITEM_COUNT_TAG);
-        } else {
-            getTag().putLong(ITEM_COUNT_TAG, itemCount);
+        var keys = new AEKey[this.storedAmounts.size()];
+        var cachedTags = new CompoundTag[keys.length];
+        int i = 0;
+        for (var key : this.storedAmounts.keySet()) {
+            keys[i] = key;
+            cachedTags[i] = serializedKeys.get(key);
+            i++;
         }
 
-        this.isPersisted = true;
+        var keyList = CompletableFuture.supplyAsync(() -> buildKeyList(keys, cachedTags), KEY_LIST_EXECUTOR);
+        this.keyListSnapshot = new KeyListSnapshot(this.keysVersion, keys, keyList);
+    }
+
+    /**
+     * Runs in the background. Keys are immutable, and their cached tags are never modified, so both are safe to read.
+     */
+    private static ListTag buildKeyList(AEKey[] keys, CompoundTag[] cachedTags) {
+        var keyList = new ListTag();
+        for (int i = 0; i < keys.length; i++) {
+            keyList.add(cachedTags[i] != null ? cachedTags[i] : keys[i].toTagGeneric());
+        }
+        return keyList;
+    }
+
+    @VisibleForTesting
+    void awaitKeyListSnapshot() {
+        if (this.keyListSnapshot != null) {
+            this.keyListSnapshot.keyList().join();
+        }
+    }
+
+    private CompoundTag getSerializedKey(AEKey key) {
+        return serializedKeys.computeIfAbsent(key, AEKey::toTagGeneric);
     }
 
     protected void saveChanges() {
-        // recalculate values
         this.storedItems = (short) this.storedAmounts.size();
-        this.storedItemCount = 0;
-        for (var storedAmount : this.storedAmounts.values()) {
-            this.storedItemCount += storedAmount;
-        }
 
         this.isPersisted = false;
         if (this.container != null) {
+            if (this.keysChanged && !this.keyListSnapshotScheduled && Platform.isServer()) {
+                // Snapshot the keys once the tick is over, since more are likely to be added or removed until then
+                this.keyListSnapshotScheduled = true;
+                TickHandler.instance().addCallable(null, this::snapshotKeyList);
+            }
             this.container.saveChanges();
         } else {
             // if there is no ISaveProvider, store to NBT immediately
@@ -244,11 +396,36 @@ protected void saveChanges() {
         }
     }
 
+    /**
+     * Updates the stored amount of a key and records the change for the next {@link #persist()}.
+     */
+    private void setStoredAmount(AEKey what, long currentAmount, long newAmount) {
+        if (newAmount <= 0) {
+            getCellItems().removeLong(what);
+            markKeysChanged();
+        } else {
+            getCellItems().put(what, newAmount);
+            if (currentAmount <= 0) {
+                markKeysChanged();
+            } else {
+                changedKeys.add(what);
+            }
+        }
+        this.storedItemCount += newAmount - currentAmount;
+        this.saveChanges();
+    }
+
+    private void markKeysChanged() {
+        this.keysChanged = true;
+        this.keysVersion++;
+    }
+
     private void loadCellItems() {
         boolean corruptedTag = false;
 
         var amounts = getTag().getLongArray(STACK_AMOUNTS);
         var tags = getTag().getList(STACK_KEYS, Tag.TAG_COMPOUND);
+        this.persistedKeys = getTag().get(STACK_KEYS);
         if (amounts.length != tags.size()) {
             AELog.warn("Loading storage cell with mismatched amounts/tags: %d != %d",
                     amounts.length, tags.size());
@@ -261,11 +438,20 @@ private void loadCellItems() {
             if (amount <= 0 || key == null) {
                 corruptedTag = true;
             } else {
+                persistedIndex.put(key, i);
+                serializedKeys.put(key, tags.getCompound(i));
                 storedAmounts.put(key, amount);
             }
         }
 
-        if (corruptedTag) {
+        // Don't trust the persisted item count, we'll keep it updated from here on
+        this.storedItemCount = 0;
+        for (var storedAmount : this.storedAmounts.values()) {
+            this.storedItemCount += storedAmount;
+        }
+
+        if (corruptedTag || amounts.length != tags.size()) {
+            markKeysChanged();
             this.saveChanges();
         }
     }
@@ -420,8 +606,7 @@ private long innerInsert(AEKey what, long amount, Actionable mode) {
         }
 
         if (mode == Actionable.MODULATE) {
-            getCellItems().put(what, currentAmount + amount);
-            this.saveChanges();
+            setStoredAmount(what, currentAmount, currentAmount + amount);
         }
 
         return amount;
@@ -433,15 +618,13 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         if (currentAmount > 0) {
             if (amount >= currentAmount) {
                 if (mode == Actionable.MODULATE) {
-                    getCellItems().remove(what, currentAmount);
-                    this.saveChanges();
+                    setStoredAmount(what, currentAmount, 0);
                 }
 
                 return currentAmount;
             } else {
                 if (mode == Actionable.MODULATE) {
-                    getCellItems().put(what, currentAmount - amount);
-                    this.saveChanges();
+                    setStoredAmount(what, currentAmount, currentAmount - amount);
                 }
 
                 return amount;
@@ -455,4 +638,10 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
     public Component getDescription() {
         return i.getHoverName();
     }
+
+    /**
+     * A key list built in the background from the keys that were stored when {@link #keysVersion} had the given value.
+     */
+    private record KeyListSnapshot(int keysVersion, AEKey[] keys, CompletableFuture<ListTag> keyList) {
+    }
 }
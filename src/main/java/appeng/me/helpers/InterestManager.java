@@ -19,28 +19,104 @@
 package appeng.me.helpers;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
 import appeng.api.stacks.AEKey;
 
+/**
+ * Tracks which watchers are interested in changes to which {@link AEKey keys}. Watchers are
+ * {@link #register registered} once and are then referred to by a small integer id, so that the watchers interested in
+ * a key can be stored as a compact array of ids. Watchers are expected to keep track of their own keys to remove them
+ * again.
+ */
 public class InterestManager<T> {
 
-    private final Multimap<AEKey, T> container;
+    private final Map<AEKey, IntArrayList> interests = new Object2ObjectOpenHashMap<>();
+    /**
+     * Registered watchers by their id. Ids of unregistered watchers are set to null and reused.
+     */
+    private final ObjectArrayList<T> watchers = new ObjectArrayList<>();
+    /**
+     * For every watcher id, the position of that id in the {@link #interests} list of each key it is interested in.
+     * This lets {@link #remove} find the id without scanning lists of keys that many watchers are interested in.
+     */
+    private final ObjectArrayList<Object2IntOpenHashMap<AEKey>> slots = new ObjectArrayList<>();
+    private final IntArrayList freeIds = new IntArrayList();
     private final Set<T> allStacksWatchers = Sets.newIdentityHashSet();
 
-    public InterestManager(Multimap<AEKey, T> interests) {
-        this.container = interests;
+    /**
+     * @return The id to use for the watcher in subsequent calls.
+     */
+    public int register(T watcher) {
+        if (!freeIds.isEmpty()) {
+            var id = freeIds.popInt();
+            watchers.set(id, watcher);
+            return id;
+        }
+
+        var watcherSlots = new Object2IntOpenHashMap<AEKey>();
+        watcherSlots.defaultReturnValue(-1);
+        watchers.add(watcher);
+        slots.add(watcherSlots);
+        return watchers.size() - 1;
+    }
+
+    /**
+     * Unregisters a watcher, which must have removed all of its keys before.
+     */
+    public void unregister(int id) {
+        var watcher = watchers.set(id, null);
+        if (watcher != null) {
+            allStacksWatchers.remove(watcher);
+            slots.get(id).clear();
+            freeIds.add(id);
+        }
     }
 
-    public boolean put(AEKey stack, T iw) {
-        return this.container.put(stack, iw);
+    /**
+     * Adds interest in a key. The caller is responsible for not adding the same key twice for the same watcher.
+     */
+    public void put(AEKey stack, int watcherId) {
+        var ids = interests.computeIfAbsent(stack, key -> new IntArrayList(2));
+        slots.get(watcherId).put(stack, ids.size());
+        ids.add(watcherId);
     }
 
-    public boolean remove(AEKey stack, T iw) {
-        return this.container.remove(stack, iw);
+    /**
+     * Adds interest in all the given keys. The caller is responsible for not adding the same key twice for the same
+     * watcher.
+     */
+    public void putAll(Collection<AEKey> stacks, int watcherId) {
+        for (var stack : stacks) {
+            put(stack, watcherId);
+        }
+    }
+
+    public boolean remove(AEKey stack, int watcherId) {
+        var index = slots.get(watcherId).removeInt(stack);
+        if (index < 0) {
+            return false;
+        }
+
+        // Order does not matter, so move the last id into the gap
+        var ids = interests.get(stack);
+        var last = ids.popInt();
+        if (index < ids.size()) {
+            ids.set(index, last);
+            slots.get(last).put(stack, index);
+        } else if (ids.isEmpty()) {
+            interests.remove(stack);
+        }
+        return true;
     }
 
     public void setWatchAll(boolean watchAll, T watcher) {
@@ -51,19 +127,31 @@ public void setWatchAll(boolean watchAll, T watcher) {
         }
     }
 
-    public boolean containsKey(AEKey stack) {
-        return this.container.containsKey(stack);
-    }
-
-    public Collection<T> get(AEKey stack) {
-        return this.container.get(stack);
-    }
+    /**
+     * Passes every watcher interested in the given key to the consumer, followed by all watchers interested in all
+     * keys. Watchers that change their interests while being notified will not cause others to be skipped, but may
+     * themselves be skipped or notified twice.
+     */
+    public void forEachWatcher(AEKey stack, Consumer<T> consumer) {
+        var ids = interests.get(stack);
+        if (ids != null) {
+            // Iterate backwards, since removals move the last element into the gap
+            for (int i = ids.size() - 1; i >= 0; i--) {
+                if (i < ids.size()) {
+                    var watcher = watchers.get(ids.getInt(i));
+                    if (watcher != null) {
+                        consumer.accept(watcher);
+                    }
+                }
+            }
+        }
 
-    public Collection<T> getAllStacksWatchers() {
-        return this.allStacksWatchers;
+        for (var watcher : allStacksWatchers) {
+            consumer.accept(watcher);
+        }
     }
 
     public boolean isEmpty() {
-        return allStacksWatchers.isEmpty() && container.isEmpty();
+        return allStacksWatchers.isEmpty() && interests.isEmpty();
     }
 }
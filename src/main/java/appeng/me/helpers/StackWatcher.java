@@ -1,9 +1,10 @@
 package appeng.me.helpers;
 
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Collection;
 import java.util.Set;
 
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
 import appeng.api.networking.IStackWatcher;
 import appeng.api.stacks.AEKey;
 
@@ -14,18 +15,24 @@
 
     private final InterestManager<StackWatcher<T>> interestManager;
     private final T myHost;
-    private final Set<AEKey> myInterests = new HashSet<>();
+    private final int id;
+    private final Set<AEKey> myInterests = new ObjectOpenHashSet<>();
     private boolean destroyed = false;
 
     public StackWatcher(InterestManager<StackWatcher<T>> interestManager, T host) {
         this.interestManager = interestManager;
         this.myHost = host;
+        this.id = interestManager.register(this);
     }
 
     public T getHost() {
         return this.myHost;
     }
 
+    int getId() {
+        return this.id;
+    }
+
     @Override
     public void setWatchAll(boolean watchAll) {
         if (!destroyed) {
@@ -36,14 +43,31 @@ public void setWatchAll(boolean watchAll) {
     @Override
     public void add(AEKey e) {
         if (!destroyed && this.myInterests.add(e)) {
-            interestManager.put(e, this);
+            interestManager.put(e, id);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<AEKey> stacks) {
+        if (destroyed) {
+            return;
+        }
+
+        if (this.myInterests.isEmpty() && stacks instanceof Set<AEKey>) {
+            // No duplicates possible
+            this.myInterests.addAll(stacks);
+            interestManager.putAll(stacks, id);
+        } else {
+            for (var stack : stacks) {
+                add(stack);
+            }
         }
     }
 
     @Override
     public void remove(AEKey o) {
         if (!destroyed && this.myInterests.remove(o)) {
-            interestManager.remove(o, this);
+            interestManager.remove(o, id);
         }
     }
 
@@ -51,12 +75,10 @@ public void remove(AEKey o) {
     public void reset() {
         setWatchAll(false);
 
-        final Iterator<AEKey> i = this.myInterests.iterator();
-
-        while (i.hasNext()) {
-            interestManager.remove(i.next(), this);
-            i.remove();
+        for (var stack : this.myInterests) {
+            interestManager.remove(stack, id);
         }
+        this.myInterests.clear();
     }
 
     /**
@@ -65,7 +87,10 @@ public void reset() {
      * modify it later, which could lead to invalid state and potentially crashes down the line.
      */
     public void destroy() {
-        reset();
-        destroyed = true;
+        if (!destroyed) {
+            reset();
+            interestManager.unregister(id);
+            destroyed = true;
+        }
     }
 }
@@ -31,9 +31,7 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
 import org.apache.commons.lang3.mutable.MutableObject;
@@ -71,6 +69,7 @@
 import appeng.crafting.CraftingLink;
 import appeng.crafting.CraftingLinkNexus;
 import appeng.crafting.execution.CraftingSubmitResult;
+import appeng.hooks.ticking.TickHandler;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.me.helpers.InterestManager;
 import appeng.me.helpers.StackWatcher;
@@ -117,9 +116,7 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
     private final IGrid grid;
     private final NetworkCraftingProviders craftingProviders = new NetworkCraftingProviders();
     private final Map<UUID, CraftingLinkNexus> craftingLinks = new HashMap<>();
-    private final Multimap<AEKey, StackWatcher<ICraftingWatcherNode>> interests = HashMultimap.create();
-    private final InterestManager<StackWatcher<ICraftingWatcherNode>> interestManager = new InterestManager<>(
-            this.interests);
+    private final InterestManager<StackWatcher<ICraftingWatcherNode>> interestManager = new InterestManager<>();
     private final IEnergyService energyGrid;
     private final Set<AEKey> currentlyCrafting = new HashSet<>();
     private final Set<AEKey> currentlyCraftable = new HashSet<>();
@@ -146,8 +143,13 @@ public void onServerEndTick() {
         this.currentlyCrafting.clear();
         this.currentlyCraftable.clear();
 
+        // Crafting CPUs only work every other tick while the grid is running low on energy
+        var tickCpus = !(energyGrid instanceof EnergyService energyService && energyService.isBrownOut())
+                || TickHandler.instance().getCurrentTick() % 2 == 0;
         for (CraftingCPUCluster cpu : this.craftingCPUClusters) {
-            cpu.craftingLogic.tickCraftingLogic(energyGrid, this);
+            if (tickCpus) {
+                cpu.craftingLogic.tickCraftingLogic(energyGrid, this);
+            }
             cpu.craftingLogic.getAllWaitingFor(this.currentlyCrafting);
         }
         currentlyCraftable.addAll(getCraftables(k -> true));
@@ -157,12 +159,7 @@ public void onServerEndTick() {
         changed.addAll(Sets.difference(previouslyCrafting, currentlyCrafting));
         changed.addAll(Sets.difference(currentlyCrafting, previouslyCrafting));
         for (var what : changed) {
-            for (var watcher : interestManager.get(what)) {
-                watcher.getHost().onRequestChange(what);
-            }
-            for (var watcher : interestManager.getAllStacksWatchers()) {
-                watcher.getHost().onRequestChange(what);
-            }
+            interestManager.forEachWatcher(what, watcher -> watcher.getHost().onRequestChange(what));
         }
 
         // Notify watchers about items no longer craftable
@@ -170,12 +167,7 @@ public void onServerEndTick() {
         changedCraftable.addAll(Sets.difference(previouslyCraftable, currentlyCraftable));
         changedCraftable.addAll(Sets.difference(currentlyCraftable, previouslyCraftable));
         for (var what : changedCraftable) {
-            for (var watcher : interestManager.get(what)) {
-                watcher.getHost().onCraftableChange(what);
-            }
-            for (var watcher : interestManager.getAllStacksWatchers()) {
-                watcher.getHost().onCraftableChange(what);
-            }
+            interestManager.forEachWatcher(what, watcher -> watcher.getHost().onCraftableChange(what));
         }
     }
 
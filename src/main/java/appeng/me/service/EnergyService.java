@@ -55,6 +55,7 @@
 import appeng.api.networking.events.GridPowerStatusChange;
 import appeng.api.networking.events.GridPowerStorageStateChanged;
 import appeng.api.networking.pathing.IPathingService;
+import appeng.core.AEConfig;
 import appeng.me.Grid;
 import appeng.me.GridNode;
 import appeng.me.energy.EnergyThreshold;
@@ -86,6 +87,12 @@ public class EnergyService implements IEnergyService, IGridServiceProvider {
     private static final Comparator<IAEPowerStorage> COMPARATOR_LOWEST_PRIORITY_FIRST = (o1,
             o2) -> -COMPARATOR_HIGHEST_PRIORITY_FIRST.compare(o1, o2);
 
+    /**
+     * Only this fraction of the energy stored in our own providers can be handed out through the energy ledger within a
+     * tick. This leaves a margin for energy that connected grids extract from our providers directly.
+     */
+    private static final double LEDGER_BUDGET_FRACTION = 0.5;
+
     private final NavigableSet<EnergyThreshold> interests = Sets.newTreeSet();
     private final double averageLength = 40.0;
 
@@ -127,16 +134,54 @@ public class EnergyService implements IEnergyService, IGridServiceProvider {
     private double tickDrainPerTick = 0;
     private double tickInjectionPerTick = 0;
 
+    /**
+     * Minimum number of ticks a grid needs to have power before it is publicly powered up again.
+     */
+    private static final int MIN_POWER_UP_DELAY = 30;
+
+    /**
+     * If a grid loses power within this many ticks of having it restored, the delay before restoring it again is
+     * increased.
+     */
+    private static final int POWER_FLICKER_WINDOW = 200;
+
     /**
      * power status
      */
     private boolean publicHasPower = false;
     private boolean hasPower = true;
     private long ticksSinceHasPowerChange = 900;
+    private long ticksSincePublicPowerChange = 0;
+    /**
+     * The current delay before power is restored. Doubles every time the grid loses power again shortly after it was
+     * restored, to avoid notifying the entire grid about flickering power every few ticks.
+     */
+    private int powerUpDelay = MIN_POWER_UP_DELAY;
+    /**
+     * The grid is running low on energy, and expensive consumers should slow down.
+     */
+    private boolean brownOut;
 
     private final PathingService pgc;
     private double lastStoredPower = -1;
 
+    /**
+     * The energy ledger grants extractions from a budget without touching the providers. The sum of all granted
+     * extractions is then drained from the providers once at the end of the tick, or earlier if something needs an
+     * accurate view of the providers. The budget is based on a snapshot of our providers taken when the ledger is
+     * opened, which happens lazily on the first extraction after the ledger was closed.
+     */
+    private boolean ledgerOpen;
+    /**
+     * The energy that can still be granted by the ledger until it is closed.
+     */
+    private double ledgerBudget;
+    /**
+     * The energy that was granted by the ledger, but not yet drained from the providers. This can carry over into the
+     * next tick if the providers turned out to not have enough energy when the ledger was settled.
+     */
+    private double ledgerPendingDrain;
+
     /**
      * The overlay grid containing all the energy services of grids that may be connected by parts like
      * {@linkplain appeng.parts.networking.QuartzFiberPart quartz fibers}.
@@ -176,6 +221,8 @@ public void storagePowerChangeHandler(GridPowerStorageStateChanged ev) {
 
     @Override
     public void onServerEndTick() {
+        closeLedger();
+
         if (!this.interests.isEmpty()) {
             final double oldPower = this.lastStoredPower;
             this.lastStoredPower = this.getStoredPower();
@@ -220,19 +267,42 @@ public void onServerEndTick() {
         // update status..
         this.hasPower = currentlyHasPower;
 
-        // update public status, this buffers power ups for 30 ticks.
-        if (this.hasPower && this.ticksSinceHasPowerChange > 30) {
-            this.publicPowerState(true, this.grid);
-        } else if (!this.hasPower) {
+        // update public status, this buffers power ups, and more so if the grid keeps losing power.
+        this.ticksSincePublicPowerChange++;
+        if (!this.hasPower) {
+            if (this.publicHasPower) {
+                if (this.ticksSincePublicPowerChange < POWER_FLICKER_WINDOW) {
+                    this.powerUpDelay = Math.min(this.powerUpDelay * 2,
+                            Math.max(MIN_POWER_UP_DELAY, AEConfig.instance().getMaxPowerRestoreDelay()));
+                } else {
+                    this.powerUpDelay = MIN_POWER_UP_DELAY;
+                }
+            }
             this.publicPowerState(false, this.grid);
+        } else if (!this.publicHasPower) {
+            if (this.ticksSinceHasPowerChange > this.powerUpDelay && hasPowerRestoreBuffer()) {
+                this.publicPowerState(true, this.grid);
+            }
         }
 
+        updateBrownOut();
+
         this.availableTicksSinceUpdate++;
     }
 
     @Override
     public double extractAEPower(double amt, Actionable mode, PowerMultiplier pm) {
         final double toExtract = pm.multiply(amt);
+
+        // Fast-path: grant the extraction from this tick's budget
+        if (toExtract > 0 && reserveFromLedger(toExtract, mode)) {
+            return pm.divide(toExtract);
+        }
+
+        // The budget is exhausted, so we need to go to the providers. Drain what was granted so far first, so
+        // the providers reflect the energy that is actually left.
+        settleLedger();
+
         double extracted = 0;
 
         for (EnergyService service : getConnectedServices()) {
@@ -243,9 +313,84 @@ public double extractAEPower(double amt, Actionable mode, PowerMultiplier pm) {
             }
         }
 
+        if (mode == Actionable.MODULATE) {
+            this.ledgerBudget = Math.max(0, this.ledgerBudget - extracted);
+        }
+
         return pm.divide(extracted);
     }
 
+    /**
+     * Tries to grant an extraction from the ledger's budget.
+     *
+     * @return True if the budget was sufficient. For {@link Actionable#MODULATE}, the energy is then owed by our
+     *         providers until the ledger is settled.
+     */
+    private boolean reserveFromLedger(double amount, Actionable mode) {
+        if (!this.ledgerOpen) {
+            openLedger();
+        }
+
+        if (amount > this.ledgerBudget) {
+            return false;
+        }
+
+        if (mode == Actionable.MODULATE) {
+            this.ledgerBudget -= amount;
+            this.ledgerPendingDrain += amount;
+            this.globalAvailablePower -= amount;
+            this.tickDrainPerTick += amount;
+        }
+        return true;
+    }
+
+    private void openLedger() {
+        double stored = 0;
+        for (var provider : this.providers) {
+            stored += provider.getAECurrentPower();
+        }
+
+        this.ledgerOpen = true;
+        // Energy we still owe from a previous tick is deducted from the budget right away
+        this.ledgerBudget = Math.max(0, stored * LEDGER_BUDGET_FRACTION - this.ledgerPendingDrain);
+    }
+
+    /**
+     * Drains the energy granted by the ledger from the providers.
+     */
+    private void settleLedger() {
+        if (this.ledgerPendingDrain <= 0) {
+            return;
+        }
+
+        var pending = this.ledgerPendingDrain;
+        var drained = drainProviders(pending, Actionable.MODULATE);
+        if (drained < pending) {
+            // Our own providers were drained by someone else in the meantime, try the connected grids. The energy
+            // was already counted towards our statistics when it was granted, so it must not be counted again there.
+            for (var service : getConnectedServices()) {
+                if (service != this) {
+                    drained += service.drainProviders(pending - drained, Actionable.MODULATE);
+                    if (drained >= pending) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Anything we could not drain is still owed, and will be deducted from the next budget
+        this.ledgerPendingDrain = Math.max(0, pending - drained);
+    }
+
+    /**
+     * Settles the ledger and discards the budget, which causes a new snapshot to be taken on the next extraction.
+     */
+    private void closeLedger() {
+        settleLedger();
+        this.ledgerOpen = false;
+        this.ledgerBudget = 0;
+    }
+
     @Override
     public double getIdlePowerUsage() {
         return this.drainPerTick + this.pgc.getChannelPowerUsage();
@@ -262,19 +407,71 @@ private void publicPowerState(boolean newState, IGrid grid) {
         }
 
         this.publicHasPower = newState;
+        this.ticksSincePublicPowerChange = 0;
         this.grid.setImportantFlag(0, this.publicHasPower);
         grid.postEvent(new GridPowerStatusChange());
 
         this.grid.notifyAllNodes(IGridNodeListener.State.POWER);
     }
 
+    /**
+     * Power is only restored once the grid has stored enough energy to keep running for a while, so that a grid whose
+     * generation barely matches its drain doesn't power up only to lose power again a few ticks later.
+     */
+    private boolean hasPowerRestoreBuffer() {
+        var idleDrain = PowerMultiplier.CONFIG.multiply(this.getIdlePowerUsage());
+        var required = idleDrain * AEConfig.instance().getPowerRestoreBufferTicks();
+        // Small grids might not be able to store that much energy at all
+        required = Math.min(required, this.getMaxStoredPower() / 2);
+        if (required <= 0) {
+            return true;
+        }
+        this.refreshPower();
+        return this.getStoredPower() >= required;
+    }
+
+    private void updateBrownOut() {
+        var bufferTicks = AEConfig.instance().getBrownOutBufferTicks();
+        if (!this.publicHasPower || bufferTicks <= 0) {
+            this.brownOut = false;
+            return;
+        }
+
+        // The average drain includes active consumers such as crafting CPUs and buses, on top of the idle drain
+        var idleDrain = PowerMultiplier.CONFIG.multiply(this.getIdlePowerUsage());
+        var drain = Math.max(idleDrain, this.getAvgPowerUsage());
+        var threshold = Math.min(drain * bufferTicks, this.getMaxStoredPower() / 4);
+        var storedPower = this.getStoredPower();
+        if (storedPower < threshold * 2) {
+            // Injections are not tracked between refreshes, so make sure we're really running low
+            this.refreshPower();
+            storedPower = this.getStoredPower();
+        }
+        if (this.brownOut) {
+            // Only end the brown-out once there's a comfortable margin
+            this.brownOut = storedPower < threshold * 2;
+        } else {
+            this.brownOut = storedPower < threshold;
+        }
+    }
+
+    /**
+     * The grid is in a brown-out if it is still powered, but its stored energy would only last for a short time at the
+     * current drain, which is the higher of its idle drain and its recent average drain. Expensive consumers such as
+     * crafting CPUs and import/export buses slow down during a brown-out to delay the grid losing power entirely.
+     */
+    public boolean isBrownOut() {
+        return this.brownOut;
+    }
+
     /**
      * refresh current stored power.
      */
     @VisibleForTesting
     public void refreshPower() {
         this.availableTicksSinceUpdate = 0;
-        this.globalAvailablePower = 0;
+        // Energy granted by the ledger is already spent, even if it wasn't drained from the providers yet
+        this.globalAvailablePower = -this.ledgerPendingDrain;
         for (IAEPowerStorage p : this.providers) {
             this.globalAvailablePower += p.getAECurrentPower();
         }
@@ -285,6 +482,17 @@ public Collection<IEnergyOverlayGridConnection> getOverlayGridConnections() {
     }
 
     public double extractProviderPower(double amt, Actionable mode) {
+        final double result = drainProviders(amt, mode);
+
+        if (mode == Actionable.MODULATE) {
+            this.globalAvailablePower -= result;
+            this.tickDrainPerTick += result;
+        }
+
+        return result;
+    }
+
+    private double drainProviders(double amt, Actionable mode) {
         Preconditions.checkArgument(amt >= 0, "amt must be >= 0");
 
         double extractedPower = 0;
@@ -315,9 +523,6 @@ public double extractProviderPower(double amt, Actionable mode) {
             if (extractedPower > amt) {
                 this.localStorage.injectAEPower(extractedPower - amt, Actionable.MODULATE);
             }
-
-            this.globalAvailablePower -= result;
-            this.tickDrainPerTick += result;
         }
 
         return result;
@@ -386,6 +591,14 @@ public boolean isNetworkPowered() {
 
     @Override
     public double injectPower(double amt, Actionable mode) {
+        // Injected energy first pays off what the ledger has granted, which saves draining it from the providers later
+        if (mode == Actionable.MODULATE && this.ledgerPendingDrain > 0 && amt > 0) {
+            var offset = Math.min(amt, this.ledgerPendingDrain);
+            this.ledgerPendingDrain -= offset;
+            this.tickInjectionPerTick += offset;
+            amt -= offset;
+        }
+
         double leftover = amt;
 
         for (EnergyService service : getConnectedServices()) {
@@ -430,6 +643,8 @@ public double getEnergyDemand(double maxRequired) {
 
     @Override
     public void removeNode(IGridNode node) {
+        // The node might be one of our providers, so drain what's owed while it is still around
+        closeLedger();
         localStorage.removeNode();
 
         var gridProvider = node.getService(IEnergyOverlayGridConnection.class);
@@ -492,6 +707,7 @@ private void removeProvider(IAEPowerStorage provider) {
 
     @Override
     public void addNode(IGridNode node, @Nullable CompoundTag storedData) {
+        closeLedger();
         localStorage.addNode();
 
         var gridProvider = node.getService(IEnergyOverlayGridConnection.class);
@@ -538,6 +754,7 @@ public void addNode(IGridNode node, @Nullable CompoundTag storedData) {
 
     @Override
     public void saveNodeData(IGridNode gridNode, CompoundTag savedData) {
+        settleLedger();
         // When node-data is saved, we allocate it 1/N of our stored local energy
         var perNodeStorage = localStorage.getNodeEnergyShare();
         if (perNodeStorage > 0) {
@@ -0,0 +1,295 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridService;
+import appeng.api.networking.IGridServiceProvider;
+import appeng.api.networking.energy.IEnergySource;
+import appeng.api.networking.security.IActionHost;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.MEStorage;
+import appeng.api.storage.StorageHelper;
+import appeng.util.ConfigInventory;
+
+/**
+ * Collects the restocking work of all interfaces on a grid during a tick and performs it in bulk at the end of the
+ * tick. Work is netted per key: items that one interface has to push out are moved directly into interfaces that need
+ * to stock the same key, and only the remainder is inserted into or extracted from network storage, using a single
+ * operation per key.
+ */
+public class InterfaceStockingService implements IGridService, IGridServiceProvider {
+
+    private static final Comparator<Request> EXTRACTION_ORDER = Comparator.comparingInt(Request::priority)
+            .reversed();
+
+    public static InterfaceStockingService get(IGrid grid) {
+        return grid.getService(InterfaceStockingService.class);
+    }
+
+    private final IGrid grid;
+
+    private final Map<AEKey, List<Request>> pending = new LinkedHashMap<>();
+
+    public InterfaceStockingService(IGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Queues moving items of a single interface slot for the end of the current tick.
+     *
+     * @param source    The interface request source, which is used for network operations.
+     * @param priority  The priority of the interface.
+     * @param storage   The local storage of the interface.
+     * @param slot      The slot in local storage.
+     * @param what      The key to move.
+     * @param amount    A positive amount to stock the slot from the network, or a negative amount to move items from
+     *                  the slot into the network.
+     * @param onChanged Called after items have been moved to or from the slot.
+     */
+    public void submit(IActionSource source, int priority, ConfigInventory storage, int slot, AEKey what,
+            long amount, Runnable onChanged) {
+        if (amount != 0) {
+            this.pending.computeIfAbsent(what, key -> new ArrayList<>())
+                    .add(new Request(source, priority, storage, slot, amount, onChanged));
+        }
+    }
+
+    @Override
+    public void onServerEndTick() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+
+        var energy = this.grid.getEnergyService();
+        var networkInv = this.grid.getStorageService().getInventory();
+
+        var work = new ArrayList<>(this.pending.entrySet());
+        this.pending.clear();
+
+        var surplus = new ArrayList<Request>();
+        var deficit = new ArrayList<Request>();
+        for (var entry : work) {
+            var what = entry.getKey();
+
+            surplus.clear();
+            deficit.clear();
+            long totalSurplus = 0;
+            long totalDeficit = 0;
+            for (var request : entry.getValue()) {
+                // Requests were planned earlier in the tick, so make sure they're still possible
+                request.remaining = request.isOnGrid(this.grid) ? request.getPossibleAmount(what) : 0;
+                if (request.remaining > 0) {
+                    if (request.amount < 0) {
+                        surplus.add(request);
+                        totalSurplus += request.remaining;
+                    } else {
+                        deficit.add(request);
+                        totalDeficit += request.remaining;
+                    }
+                }
+            }
+
+            // Higher priority interfaces are restocked first
+            deficit.sort(EXTRACTION_ORDER);
+
+            if (!surplus.isEmpty() && !deficit.isEmpty()) {
+                var netted = getPoweredAmount(energy, what, Math.min(totalSurplus, totalDeficit));
+                if (netted > 0) {
+                    netted = moveBetweenInterfaces(what, surplus, deficit, netted);
+                    extractPower(energy, what, netted);
+                    totalSurplus -= netted;
+                    totalDeficit -= netted;
+                }
+            }
+
+            if (totalSurplus > 0) {
+                var inserted = StorageHelper.poweredInsert(energy, networkInv, what, totalSurplus,
+                        surplus.get(0).source);
+                for (var request : surplus) {
+                    if (inserted <= 0) {
+                        break;
+                    }
+                    var extracted = request.storage.extract(request.slot, what,
+                            Math.min(inserted, request.remaining), Actionable.MODULATE);
+                    request.moved(extracted);
+                    inserted -= extracted;
+                }
+            }
+
+            if (totalDeficit > 0) {
+                extractForInterfaces(energy, networkInv, what, deficit);
+            }
+
+            for (var request : entry.getValue()) {
+                if (request.changed) {
+                    request.onChanged.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The amount that was actually moved.
+     */
+    private static long moveBetweenInterfaces(AEKey what, List<Request> surplus, List<Request> deficit, long amount) {
+        long moved = 0;
+        int from = 0;
+        int to = 0;
+        while (amount > 0 && from < surplus.size() && to < deficit.size()) {
+            var source = surplus.get(from);
+            var target = deficit.get(to);
+            var toMove = Math.min(amount, Math.min(source.remaining, target.remaining));
+
+            var extracted = source.storage.extract(source.slot, what, toMove, Actionable.MODULATE);
+            var inserted = target.storage.insert(target.slot, what, extracted, Actionable.MODULATE);
+            if (inserted < extracted) {
+                throw new IllegalStateException("bad attempt at managing inventory. Voided items: "
+                        + (extracted - inserted));
+            }
+            source.moved(extracted);
+            target.moved(inserted);
+            amount -= extracted;
+            moved += extracted;
+
+            if (source.remaining <= 0 || extracted < toMove) {
+                from++;
+            }
+            if (target.remaining <= 0) {
+                to++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Extracts the remaining deficit from the network with one operation per distinct interface priority. The priority
+     * of the request source decides which other interfaces the items may be taken from (via storage buses).
+     */
+    private static void extractForInterfaces(IEnergySource energy, MEStorage networkInv, AEKey what,
+            List<Request> deficit) {
+        int start = 0;
+        while (start < deficit.size()) {
+            var priority = deficit.get(start).priority;
+            int end = start;
+            long requested = 0;
+            while (end < deficit.size() && deficit.get(end).priority == priority) {
+                requested += deficit.get(end).remaining;
+                end++;
+            }
+
+            if (requested > 0) {
+                var extracted = StorageHelper.poweredExtraction(energy, networkInv, what, requested,
+                        deficit.get(start).source);
+                for (int i = start; i < end && extracted > 0; i++) {
+                    var request = deficit.get(i);
+                    var inserted = request.storage.insert(request.slot, what, Math.min(extracted, request.remaining),
+                            Actionable.MODULATE);
+                    request.moved(inserted);
+                    extracted -= inserted;
+                }
+                if (extracted > 0) {
+                    throw new IllegalStateException("bad attempt at managing inventory. Voided items: " + extracted);
+                }
+            }
+
+            start = end;
+        }
+    }
+
+    /**
+     * Moving items between interfaces directly costs as much power as extracting them from the network would.
+     *
+     * @return How much of the amount can be moved with the available power.
+     */
+    private static long getPoweredAmount(IEnergySource energy, AEKey what, long amount) {
+        var energyFactor = Math.max(1.0, what.getAmountPerOperation());
+        var availablePower = energy.extractAEPower(amount / energyFactor, Actionable.SIMULATE,
+                PowerMultiplier.CONFIG);
+        return Math.min((long) (availablePower * energyFactor + 0.9), amount);
+    }
+
+    /**
+     * Pays for items that were moved between interfaces, once it is known how many actually were.
+     */
+    private static void extractPower(IEnergySource energy, AEKey what, long movedAmount) {
+        if (movedAmount > 0) {
+            var energyFactor = Math.max(1.0, what.getAmountPerOperation());
+            energy.extractAEPower(movedAmount / energyFactor, Actionable.MODULATE, PowerMultiplier.CONFIG);
+        }
+    }
+
+    private static final class Request {
+        private final IActionSource source;
+        private final int priority;
+        private final ConfigInventory storage;
+        private final int slot;
+        private final long amount;
+        private final Runnable onChanged;
+        private long remaining;
+        private boolean changed;
+
+        private Request(IActionSource source, int priority, ConfigInventory storage, int slot, long amount,
+                Runnable onChanged) {
+            this.source = source;
+            this.priority = priority;
+            this.storage = storage;
+            this.slot = slot;
+            this.amount = amount;
+            this.onChanged = onChanged;
+        }
+
+        private int priority() {
+            return priority;
+        }
+
+        /**
+         * The interface might have been removed or disconnected since it submitted the request.
+         */
+        private boolean isOnGrid(IGrid grid) {
+            var node = source.machine().map(IActionHost::getActionableNode).orElse(null);
+            return node != null && node.getGrid() == grid && node.isActive();
+        }
+
+        private long getPossibleAmount(AEKey what) {
+            if (amount < 0) {
+                var inSlot = storage.getStack(slot);
+                return what.matches(inSlot) ? Math.min(-amount, inSlot.amount()) : 0;
+            } else {
+                return storage.insert(slot, what, amount, Actionable.SIMULATE);
+            }
+        }
+
+        private void moved(long movedAmount) {
+            if (movedAmount > 0) {
+                remaining -= movedAmount;
+                changed = true;
+            }
+        }
+    }
+}
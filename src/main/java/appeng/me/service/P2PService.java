@@ -18,7 +18,9 @@
 
 package appeng.me.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Random;
 import java.util.stream.Stream;
 
@@ -62,6 +64,11 @@ public static P2PService get(IGrid grid) {
     private final IGrid myGrid;
     private final HashMap<Short, P2PTunnelPart> inputs = new HashMap<>();
     private final Multimap<Short, P2PTunnelPart> outputs = LinkedHashMultimap.create();
+    /**
+     * Output tunnels of a frequency that match the type of the input tunnel. Built on demand and invalidated whenever
+     * tunnels are added to, removed from, or moved between frequencies.
+     */
+    private final HashMap<Short, CachedOutputs> cachedOutputs = new HashMap<>();
     private final Random frequencyGenerator;
 
     public P2PService(IGrid g) {
@@ -90,6 +97,7 @@ public void removeNode(IGridNode node) {
             } else {
                 this.inputs.remove(tunnel.getFrequency());
             }
+            this.cachedOutputs.remove(tunnel.getFrequency());
 
             this.updateTunnel(tunnel.getFrequency(), !tunnel.isOutput(), false);
         }
@@ -109,6 +117,7 @@ public void addNode(IGridNode node, @Nullable CompoundTag savedData) {
             } else {
                 this.inputs.put(tunnel.getFrequency(), tunnel);
             }
+            this.cachedOutputs.remove(tunnel.getFrequency());
 
             this.updateTunnel(tunnel.getFrequency(), !tunnel.isOutput(), false);
         }
@@ -145,6 +154,8 @@ public void updateFreq(P2PTunnelPart t, short newFrequency) {
 
         var oldFrequency = t.getFrequency();
         t.setFrequency(newFrequency);
+        this.cachedOutputs.remove(oldFrequency);
+        this.cachedOutputs.remove(newFrequency);
 
         if (t.isOutput()) {
             this.outputs.put(t.getFrequency(), t);
@@ -177,19 +188,43 @@ public short newFrequency() {
     }
 
     public <T extends P2PTunnelPart<T>> Stream<T> getOutputs(short freq, Class<T> c) {
+        return getOutputList(freq, c).stream();
+    }
+
+    /**
+     * @return The output tunnels of the given frequency and type, if the input of that frequency is also of that type.
+     *         The returned list is shared and must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends P2PTunnelPart<T>> List<T> getOutputList(short freq, Class<T> c) {
+        var cached = this.cachedOutputs.get(freq);
+        if (cached == null || cached.type != c) {
+            cached = new CachedOutputs(c, findOutputs(freq, c));
+            this.cachedOutputs.put(freq, cached);
+        }
+        return (List<T>) cached.outputs;
+    }
+
+    private <T extends P2PTunnelPart<T>> List<T> findOutputs(short freq, Class<T> c) {
         // Check that a matching input exists for the requested type
         var input = this.inputs.get(freq);
         if (!c.isInstance(input)) {
-            return Stream.empty();
+            return List.of();
         }
 
-        return this.outputs.get(freq)
-                .stream()
-                .filter(c::isInstance)
-                .map(c::cast);
+        var result = new ArrayList<T>();
+        for (var output : this.outputs.get(freq)) {
+            if (c.isInstance(output)) {
+                result.add(c.cast(output));
+            }
+        }
+        return List.copyOf(result);
     }
 
     public P2PTunnelPart getInput(short freq) {
         return this.inputs.get(freq);
     }
+
+    private record CachedOutputs(Class<?> type, List<?> outputs) {
+    }
 }
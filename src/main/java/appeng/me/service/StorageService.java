@@ -26,8 +26,6 @@
 import java.util.Set;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.SetMultimap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -59,9 +57,7 @@ public class StorageService implements IStorageService, IGridServiceProvider {
      * Tracks state for storage providers that are provided by other grid services (i.e. crafting).
      */
     private final List<ProviderState> globalProviders = new ArrayList<>();
-    private final SetMultimap<AEKey, StackWatcher<IStorageWatcherNode>> interests = HashMultimap.create();
-    private final InterestManager<StackWatcher<IStorageWatcherNode>> interestManager = new InterestManager<>(
-            this.interests);
+    private final InterestManager<StackWatcher<IStorageWatcherNode>> interestManager = new InterestManager<>();
     private final NetworkStorage storage;
     /**
      * Publicly exposed cached available stacks.
@@ -132,12 +128,7 @@ private void updateCachedStacks() {
     }
 
     private void postWatcherUpdate(AEKey what, long newAmount) {
-        for (var watcher : interestManager.get(what)) {
-            watcher.getHost().onStackChange(what, newAmount);
-        }
-        for (var watcher : interestManager.getAllStacksWatchers()) {
-            watcher.getHost().onStackChange(what, newAmount);
-        }
+        interestManager.forEachWatcher(what, watcher -> watcher.getHost().onStackChange(what, newAmount));
     }
 
     /**
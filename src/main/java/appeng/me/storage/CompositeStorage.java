@@ -1,5 +1,6 @@
 package appeng.me.storage;
 
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -31,6 +32,8 @@ public CompositeStorage(Map<AEKeyType, MEStorage> storages) {
 
     public void setStorages(Map<AEKeyType, MEStorage> storages) {
         this.storages = Objects.requireNonNull(storages);
+        this.cache.retainSlotCaches();
+        this.forceCacheRebuild = true;
     }
 
     @Override
@@ -45,7 +48,7 @@ public long insert(AEKey what, long amount, Actionable mode, IActionSource sourc
         var inserted = storage != null ? storage.insert(what, amount, mode, source) : 0;
 
         if (inserted > 0 && mode == Actionable.MODULATE) {
-            forceCacheRebuild = true;
+            onModified(storage, what, inserted, true);
         }
 
         return inserted;
@@ -57,12 +60,26 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         var extracted = storage != null ? storage.extract(what, amount, mode, source) : 0;
 
         if (extracted > 0 && mode == Actionable.MODULATE) {
-            forceCacheRebuild = true;
+            onModified(storage, what, extracted, false);
         }
 
         return extracted;
     }
 
+    /**
+     * External inventories only have the slots rescanned that the operation could have affected. Any other storage is
+     * fully rebuilt on next access.
+     */
+    private void onModified(MEStorage storage, AEKey what, long amount, boolean inserted) {
+        if (storage instanceof ExternalStorageFacade facade) {
+            if (cache.getSlotCache(facade).updateAfterModification(what, amount, inserted)) {
+                cache.needsRebuild = true;
+            }
+        } else {
+            forceCacheRebuild = true;
+        }
+    }
+
     /**
      * Describes the types of storage represented by this object.
      */
@@ -84,10 +101,14 @@ public Component getDescription() {
 
     @Override
     public TickRateModulation onTick() {
+        var full = forceCacheRebuild;
         forceCacheRebuild = false;
-        boolean changed = this.cache.update();
+        boolean changed = this.cache.update(full);
         if (changed) {
             return TickRateModulation.URGENT;
+        } else if (this.cache.isScanInProgress()) {
+            // Speed up until the incremental rescan has reached the end of the inventory
+            return TickRateModulation.FASTER;
         } else {
             return TickRateModulation.SLOWER;
         }
@@ -97,7 +118,9 @@ public TickRateModulation onTick() {
     public void getAvailableStacks(KeyCounter out) {
         if (forceCacheRebuild) {
             forceCacheRebuild = false;
-            cache.update();
+            cache.update(true);
+        } else if (cache.needsRebuild) {
+            cache.rebuild();
         }
         this.cache.getAvailableKeys(out);
     }
@@ -105,8 +128,42 @@ public void getAvailableStacks(KeyCounter out) {
     private class InventoryCache {
         private KeyCounter frontBuffer = new KeyCounter();
         private KeyCounter backBuffer = new KeyCounter();
+        /**
+         * Slot-level caches for the storages that are backed by external inventories.
+         */
+        private final Map<MEStorage, ExternalInventoryCache> slotCaches = new IdentityHashMap<>();
+        /**
+         * True if a slot-level cache changed outside of {@link #update}, and the available stacks have to be rebuilt.
+         */
+        private boolean needsRebuild;
+
+        public boolean update(boolean full) {
+            boolean slotCachesChanged = false;
+            boolean allSlotCached = true;
+            for (var storage : storages.values()) {
+                if (storage instanceof ExternalStorageFacade facade) {
+                    slotCachesChanged |= getSlotCache(facade).update(full);
+                } else {
+                    allSlotCached = false;
+                }
+            }
+
+            // Skip rebuilding the available stacks if we know that none of the external inventories changed
+            if (allSlotCached && !slotCachesChanged && !full && !needsRebuild) {
+                return false;
+            }
+
+            return rebuild();
+        }
+
+        /**
+         * Rebuilds the available stacks from the slot-level caches and the other storages.
+         *
+         * @return True if the available stacks changed.
+         */
+        public boolean rebuild() {
+            needsRebuild = false;
 
-        public boolean update() {
             // Flip back & front buffer and start building a new list
             var tmp = backBuffer;
             backBuffer = frontBuffer;
@@ -115,7 +172,11 @@ public boolean update() {
 
             // Rebuild the front buffer
             for (var storage : storages.values()) {
-                storage.getAvailableStacks(frontBuffer);
+                if (storage instanceof ExternalStorageFacade facade) {
+                    getSlotCache(facade).getAvailableItems(frontBuffer);
+                } else {
+                    storage.getAvailableStacks(frontBuffer);
+                }
             }
 
             boolean changed = false;
@@ -138,6 +199,26 @@ public boolean update() {
             return changed;
         }
 
+        private ExternalInventoryCache getSlotCache(ExternalStorageFacade facade) {
+            return slotCaches.computeIfAbsent(facade, storage -> ExternalInventoryCache.of(facade));
+        }
+
+        /**
+         * Drops the slot-level caches of storages that are no longer part of this composite storage.
+         */
+        public void retainSlotCaches() {
+            slotCaches.keySet().retainAll(storages.values());
+        }
+
+        public boolean isScanInProgress() {
+            for (var slotCache : slotCaches.values()) {
+                if (slotCache.isScanInProgress()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         public void getAvailableKeys(KeyCounter out) {
             out.addAll(frontBuffer);
         }
@@ -1,16 +1,59 @@
 package appeng.me.storage;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
-
+import appeng.api.storage.IChangeStamped;
+
+/**
+ * Caches the content of an external inventory slot by slot, so that the storage bus monitoring it does not have to
+ * re-read the entire inventory on every tick.
+ * <p/>
+ * If the inventory reports its changes via {@link IChangeStamped}, rescans are skipped entirely while it has not
+ * changed. Otherwise, the inventory is rescanned incrementally: each tick only scans as many slots as fit into a time
+ * budget, and the next tick resumes where the previous one stopped. The number of slots scanned per tick is adjusted
+ * based on how long the previous scans took. Until a rescan has completed, the last known content of the slots that
+ * weren't scanned yet is reported.
+ */
 class ExternalInventoryCache {
+    /**
+     * The time we're willing to spend on scanning a single inventory per tick.
+     */
+    private static final long TARGET_SCAN_NANOS = 250_000;
+    private static final int MIN_SLOT_BUDGET = 64;
+    private static final int MAX_SLOT_BUDGET = 16384;
+
     private GenericStack[] cached = new GenericStack[0];
+    private final KeyCounter available = new KeyCounter();
+    /**
+     * The cached slots that hold a given key, to rescan only those after the storage bus itself moved that key.
+     */
+    private final Map<AEKey, IntSet> slotsByKey = new HashMap<>();
+    /**
+     * The cached slots that are not empty.
+     */
+    private final BitSet occupied = new BitSet();
     private final ExternalStorageFacade facade;
+    private boolean hasChangeStamp;
+    private long lastChangeStamp;
+    /**
+     * How many slots are scanned per tick, unless a full rescan is requested.
+     */
+    private int slotBudget = 256;
+    /**
+     * The slot the next incremental rescan starts at. 0 if no incremental rescan is in progress.
+     */
+    private int cursor;
 
     private ExternalInventoryCache(ExternalStorageFacade facade) {
         this.facade = facade;
@@ -21,74 +64,152 @@ public static ExternalInventoryCache of(ExternalStorageFacade facade) {
     }
 
     public void getAvailableItems(KeyCounter out) {
-        for (GenericStack stack : cached) {
-            out.add(stack.what(), stack.amount());
-        }
+        out.addAll(available);
     }
 
-    public Set<AEKey> update() {
-        var changes = new HashSet<AEKey>();
+    /**
+     * @return True if an incremental rescan was started, but has not yet reached the last slot.
+     */
+    public boolean isScanInProgress() {
+        return cursor != 0;
+    }
+
+    /**
+     * @param full Rescan every slot, regardless of change stamps or striping.
+     * @return True if the available stacks changed.
+     */
+    public boolean update(boolean full) {
         final int slots = this.facade.getSlots();
+        boolean changed = resize(slots);
 
-        // Make room for new slots
-        if (slots > this.cached.length) {
-            this.cached = Arrays.copyOf(this.cached, slots);
+        if (facade.isChangeStamped()) {
+            var changeStamp = facade.getChangeStamp();
+            if (!full && !changed && hasChangeStamp && changeStamp == lastChangeStamp) {
+                return false;
+            }
+            hasChangeStamp = true;
+            lastChangeStamp = changeStamp;
+            // Since we know that something changed, always scan the whole inventory
+            full = true;
+        } else {
+            hasChangeStamp = false;
         }
 
-        for (int slot = 0; slot < slots; slot++) {
-            // Save the old stuff
-            var oldGenericStack = this.cached[slot];
-            var newGenericStack = facade.getStackInSlot(slot);
+        int from = 0;
+        int to = slots;
+        if (!full && slots > slotBudget) {
+            from = cursor < slots ? cursor : 0;
+            to = Math.min(slots, from + slotBudget);
+        }
+        cursor = to < slots ? to : 0;
 
-            this.handlePossibleSlotChanges(slot, oldGenericStack, newGenericStack, changes);
+        var start = System.nanoTime();
+        for (int slot = from; slot < to; slot++) {
+            changed |= updateSlot(slot, facade.getAvailableStackInSlot(slot));
         }
+        adjustSlotBudget(to - from, System.nanoTime() - start);
 
-        // Handle cases where the number of slots actually is lower now than before
-        if (slots < this.cached.length) {
-            for (int slot = slots; slot < this.cached.length; slot++) {
-                final GenericStack aeStack = this.cached[slot];
+        if (changed) {
+            available.removeZeros();
+        }
+        return changed;
+    }
 
-                if (aeStack != null) {
-                    changes.add(aeStack.what());
-                }
+    /**
+     * Rescans only the slots that can have been affected by the storage bus itself inserting or extracting the given
+     * key, instead of the whole inventory. Any other change is picked up by the regular incremental rescan.
+     *
+     * @param amount   The amount that was inserted or extracted.
+     * @param inserted True if the amount was inserted, false if it was extracted.
+     * @return True if the available stacks changed.
+     */
+    public boolean updateAfterModification(AEKey what, long amount, boolean inserted) {
+        if (this.facade.getSlots() != this.cached.length) {
+            return update(true);
+        }
+
+        var before = available.get(what);
+        boolean changed = false;
+
+        var slots = slotsByKey.get(what);
+        if (slots != null) {
+            for (int slot : slots.toIntArray()) {
+                changed |= updateSlot(slot, facade.getAvailableStackInSlot(slot));
             }
+        }
 
-            // Reduce the cache size
-            this.cached = Arrays.copyOf(this.cached, slots);
+        if (inserted) {
+            // Whatever did not stack onto existing slots was inserted into empty slots, which are filled in order
+            int budget = slotBudget;
+            for (int slot = occupied.nextClearBit(0); slot < cached.length && budget-- > 0
+                    && available.get(what) - before < amount; slot = occupied.nextClearBit(slot + 1)) {
+                changed |= updateSlot(slot, facade.getAvailableStackInSlot(slot));
+            }
         }
 
-        return changes;
+        if (changed) {
+            available.removeZeros();
+        }
+        return changed;
     }
 
-    private void handlePossibleSlotChanges(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        if (oldStack != null && newStack != null && oldStack.what().equals(newStack.what())) {
-            handleAmountChanged(slot, oldStack, newStack, changes);
-        } else {
-            handleItemChanged(slot, oldStack, newStack, changes);
+    /**
+     * Moves the slot budget towards the number of slots we could have scanned in {@link #TARGET_SCAN_NANOS}, given how
+     * long it took to scan the given number of slots.
+     */
+    private void adjustSlotBudget(int scannedSlots, long elapsedNanos) {
+        if (scannedSlots <= 0) {
+            return;
         }
+
+        var nanosPerSlot = Math.max(1, elapsedNanos / scannedSlots);
+        var targetBudget = (int) Math.min(MAX_SLOT_BUDGET, TARGET_SCAN_NANOS / nanosPerSlot);
+        // Average with the previous budget to smooth out outliers (i.e. GC pauses)
+        slotBudget = Math.max(MIN_SLOT_BUDGET, Math.min(MAX_SLOT_BUDGET, (slotBudget + targetBudget) / 2));
     }
 
-    private void handleAmountChanged(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        // Still the same item, but amount might have changed
-        if (newStack.amount() != oldStack.amount()) {
-            this.cached[slot] = newStack;
-            changes.add(newStack.what());
+    private boolean resize(int slots) {
+        boolean changed = false;
+
+        // Make room for new slots
+        if (slots > this.cached.length) {
+            this.cached = Arrays.copyOf(this.cached, slots);
+        } else if (slots < this.cached.length) {
+            // Handle cases where the number of slots actually is lower now than before
+            for (int slot = slots; slot < this.cached.length; slot++) {
+                changed |= updateSlot(slot, null);
+            }
+
+            // Reduce the cache size
+            this.cached = Arrays.copyOf(this.cached, slots);
         }
+
+        return changed;
     }
 
-    private void handleItemChanged(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        // Completely different item
-        this.cached[slot] = newStack;
+    private boolean updateSlot(int slot, @Nullable GenericStack newStack) {
+        var oldStack = this.cached[slot];
+        if (oldStack == null && newStack == null) {
+            return false;
+        }
+        if (oldStack != null && newStack != null && oldStack.what().equals(newStack.what())
+                && oldStack.amount() == newStack.amount()) {
+            return false;
+        }
 
-        // If we had a stack previously in this slot, notify the network about its disappearance
+        this.cached[slot] = newStack;
         if (oldStack != null) {
-            changes.add(oldStack.what());
+            available.remove(oldStack.what(), oldStack.amount());
+            var slots = slotsByKey.get(oldStack.what());
+            if (slots != null && slots.remove(slot) && slots.isEmpty()) {
+                slotsByKey.remove(oldStack.what());
+            }
         }
-
-        // Notify the network about the new stack
         if (newStack != null) {
-            changes.add(newStack.what());
+            available.add(newStack.what(), newStack.amount());
+            slotsByKey.computeIfAbsent(newStack.what(), key -> new IntOpenHashSet()).add(slot);
         }
+        occupied.set(slot, newStack != null);
+        return true;
     }
-
 }
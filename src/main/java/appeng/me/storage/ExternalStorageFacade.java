@@ -20,6 +20,7 @@
 import appeng.api.stacks.AEKeyType;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.IChangeStamped;
 import appeng.api.storage.MEStorage;
 import appeng.core.AELog;
 import appeng.core.localization.GuiText;
@@ -47,8 +48,29 @@ public void setChangeListener(@Nullable Runnable listener) {
     @Nullable
     public abstract GenericStack getStackInSlot(int slot);
 
+    /**
+     * Same as {@link #getStackInSlot}, but only returns stacks that would also be reported by
+     * {@link #getAvailableStacks}, taking the extractable-only filter into account.
+     */
+    @Nullable
+    public abstract GenericStack getAvailableStackInSlot(int slot);
+
     public abstract AEKeyType getKeyType();
 
+    /**
+     * @return True if the external inventory reports changes to its content through {@link IChangeStamped}.
+     */
+    public boolean isChangeStamped() {
+        return false;
+    }
+
+    /**
+     * @see IChangeStamped#getChangeStamp()
+     */
+    public long getChangeStamp() {
+        return 0;
+    }
+
     @Override
     public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
         var inserted = insertExternal(what, Ints.saturatedCast(amount), mode);
@@ -112,6 +134,26 @@ public GenericStack getStackInSlot(int slot) {
             return GenericStack.fromItemStack(handler.getStackInSlot(slot));
         }
 
+        @Nullable
+        @Override
+        public GenericStack getAvailableStackInSlot(int slot) {
+            var stack = handler.getStackInSlot(slot);
+            if (stack.isEmpty() || !isAvailable(slot, stack)) {
+                return null;
+            }
+            return new GenericStack(AEItemKey.of(stack), stack.getCount());
+        }
+
+        @Override
+        public boolean isChangeStamped() {
+            return handler instanceof IChangeStamped;
+        }
+
+        @Override
+        public long getChangeStamp() {
+            return handler instanceof IChangeStamped changeStamped ? changeStamped.getChangeStamp() : 0;
+        }
+
         @Override
         public AEKeyType getKeyType() {
             return AEKeyType.items();
@@ -241,23 +283,24 @@ public boolean containsAnyFuzzy(Set<AEKey> keys) {
         @Override
         public void getAvailableStacks(KeyCounter out) {
             for (int i = 0; i < handler.getSlots(); i++) {
-                // Skip resources that cannot be extracted if that filter was enabled
                 var stack = handler.getStackInSlot(i);
-                if (stack.isEmpty()) {
+                if (stack.isEmpty() || !isAvailable(i, stack)) {
                     continue;
                 }
 
-                if (extractableOnly) {
-                    if (handler.extractItem(i, 1, true).isEmpty()) {
-                        if (handler.extractItem(i, stack.getCount(), true).isEmpty()) {
-                            continue;
-                        }
-                    }
-                }
-
                 out.add(AEItemKey.of(stack), stack.getCount());
             }
         }
+
+        private boolean isAvailable(int slot, ItemStack stack) {
+            // Skip resources that cannot be extracted if that filter was enabled
+            if (extractableOnly) {
+                if (handler.extractItem(slot, 1, true).isEmpty()) {
+                    return !handler.extractItem(slot, stack.getCount(), true).isEmpty();
+                }
+            }
+            return true;
+        }
     }
 
     private static class FluidHandlerFacade extends ExternalStorageFacade {
@@ -278,6 +321,26 @@ public GenericStack getStackInSlot(int slot) {
             return GenericStack.fromFluidStack(handler.getFluidInTank(slot));
         }
 
+        @Nullable
+        @Override
+        public GenericStack getAvailableStackInSlot(int slot) {
+            var stack = handler.getFluidInTank(slot);
+            if (stack.isEmpty() || !isAvailable(stack)) {
+                return null;
+            }
+            return new GenericStack(AEFluidKey.of(stack), stack.getAmount());
+        }
+
+        @Override
+        public boolean isChangeStamped() {
+            return handler instanceof IChangeStamped;
+        }
+
+        @Override
+        public long getChangeStamp() {
+            return handler instanceof IChangeStamped changeStamped ? changeStamped.getChangeStamp() : 0;
+        }
+
         @Override
         public AEKeyType getKeyType() {
             return AEKeyType.fluids();
@@ -326,20 +389,18 @@ public boolean containsAnyFuzzy(Set<AEKey> keys) {
         @Override
         public void getAvailableStacks(KeyCounter out) {
             for (int i = 0; i < handler.getTanks(); i++) {
-                // Skip resources that cannot be extracted if that filter was enabled
                 var stack = handler.getFluidInTank(i);
-                if (stack.isEmpty()) {
+                if (stack.isEmpty() || !isAvailable(stack)) {
                     continue;
                 }
 
-                if (extractableOnly) {
-                    if (handler.drain(stack, IFluidHandler.FluidAction.SIMULATE).isEmpty()) {
-                        continue;
-                    }
-                }
-
                 out.add(AEFluidKey.of(stack), stack.getAmount());
             }
         }
+
+        private boolean isAvailable(FluidStack stack) {
+            // Skip resources that cannot be extracted if that filter was enabled
+            return !extractableOnly || !handler.drain(stack, IFluidHandler.FluidAction.SIMULATE).isEmpty();
+        }
     }
 }
@@ -70,6 +70,12 @@ public ShowPatternProviders getShownProviders() {
         return showPatternProviders;
     }
 
+    /**
+     * How often the set of pattern containers on the grid is compared to what has been sent to the client. Changes to
+     * the patterns in already known containers are picked up every tick.
+     */
+    private static final int STRUCTURE_CHECK_INTERVAL = 10;
+
     public static final MenuType<PatternAccessTermMenu> TYPE = MenuTypeBuilder
             .create(PatternAccessTermMenu::new, PatternAccessTerminalPart.class)
             .build("patternaccessterminal");
@@ -89,6 +95,12 @@ public ShowPatternProviders getShownProviders() {
      */
     private final Set<PatternContainer> pinnedHosts = Collections.newSetFromMap(new IdentityHashMap<>());
 
+    private int ticksUntilStructureCheck;
+    @Nullable
+    private IGrid lastGrid;
+    @Nullable
+    private ShowPatternProviders lastShownProviders;
+
     public PatternAccessTermMenu(int id, Inventory ip, PatternAccessTerminalPart anchor) {
         this(TYPE, id, ip, anchor, true);
     }
@@ -113,12 +125,22 @@ public void broadcastChanges() {
 
         super.broadcastChanges();
 
+        IGrid grid = getGrid();
+
+        // Walking all pattern containers of the grid is expensive on large grids, so only do it periodically,
+        // unless something that affects all of them has changed.
+        if (--ticksUntilStructureCheck > 0 && grid == lastGrid && showPatternProviders == lastShownProviders) {
+            sendIncrementalUpdate();
+            return;
+        }
+        ticksUntilStructureCheck = STRUCTURE_CHECK_INTERVAL;
+        lastGrid = grid;
+        lastShownProviders = showPatternProviders;
+
         if (showPatternProviders != ShowPatternProviders.NOT_FULL) {
             this.pinnedHosts.clear();
         }
 
-        IGrid grid = getGrid();
-
         var state = new VisitorState();
         if (grid != null) {
             for (var machineClass : grid.getMachineClasses()) {
@@ -178,6 +200,24 @@ private boolean isVisible(PatternContainer container) {
         };
     }
 
+    /**
+     * The containers shown on the client are only collected every few ticks. Since then, a container might have been
+     * removed, moved to another grid or lost its channel, and must no longer be accessed through this terminal.
+     */
+    private boolean isStillAccessible(PatternContainer container) {
+        var grid = getGrid();
+        if (grid == null || container.getGrid() != grid || !isVisible(container)) {
+            return false;
+        }
+
+        for (var machine : grid.getActiveMachines(container.getClass())) {
+            if (machine == container) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private <T extends PatternContainer> void visitPatternProviderHosts(IGrid grid, Class<T> machineClass,
             VisitorState state) {
         for (var container : grid.getActiveMachines(machineClass)) {
@@ -205,6 +245,11 @@ public void doAction(ServerPlayer player, InventoryAction action, int slot, long
             // Can occur if the client sent an interaction packet right before an inventory got removed
             return;
         }
+        if (!isStillAccessible(inv.container)) {
+            // The container left the grid since the last structure check, so refresh the client's view right away
+            ticksUntilStructureCheck = 0;
+            return;
+        }
         if (slot < 0 || slot >= inv.server.size()) {
             // Client refers to an invalid slot. This should NOT happen
             AELog.warn("Client refers to invalid slot %d of inventory %s", slot, inv.container);
@@ -330,6 +375,8 @@ private static class ContainerTracker {
         private final PatternContainerGroup group;
         // This is used to track the inventory contents we sent to the client for change detection
         private final InternalInventory client;
+        // The version of the pattern inventory that was last sent to the client, or -1 if it's not tracked
+        private long clientVersion;
         // This is a reference to the real inventory used by this machine
         private final InternalInventory server;
 
@@ -339,9 +386,14 @@ public ContainerTracker(PatternContainer container, InternalInventory patterns,
             this.client = new AppEngInternalInventory(this.server.size());
             this.group = group;
             this.sortBy = container.getTerminalSortOrder();
+            this.clientVersion = container.getTerminalPatternVersion();
         }
 
         public PatternAccessTerminalPacket createFullPacket() {
+            for (int i = 0; i < server.size(); i++) {
+                client.setItemDirect(i, server.getStackInSlot(i).copy());
+            }
+
             var slots = new Int2ObjectArrayMap<ItemStack>(server.size());
             for (int i = 0; i < server.size(); i++) {
                 var stack = server.getStackInSlot(i);
@@ -360,6 +412,13 @@ public PatternAccessTerminalPacket createFullPacket() {
 
         @Nullable
         public PatternAccessTerminalPacket createUpdatePacket() {
+            var version = container.getTerminalPatternVersion();
+            if (version != -1 && version == clientVersion) {
+                // The container tracks changes, and nothing changed
+                return null;
+            }
+            clientVersion = version;
+
             var changedSlots = detectChangedSlots();
             if (changedSlots == null) {
                 return null;
@@ -53,6 +53,10 @@ public class SpatialIOPortMenu extends AEBaseMenu {
     public int ySize;
     @GuiSync(33)
     public int zSize;
+    @GuiSync(34)
+    public int loadedChunks;
+    @GuiSync(35)
+    public int totalChunks;
 
     public SpatialIOPortMenu(int id, Inventory ip, SpatialIOPortBlockEntity spatialIOPort) {
         super(TYPE, id, ip, spatialIOPort);
@@ -70,7 +74,11 @@ public void broadcastChanges() {
         if (isServerSide()) {
             this.delay++;
 
-            var gridNode = ((SpatialIOPortBlockEntity) getBlockEntity()).getGridNode();
+            var spatialIOPort = (SpatialIOPortBlockEntity) getBlockEntity();
+            this.loadedChunks = spatialIOPort.getLoadedChunks();
+            this.totalChunks = spatialIOPort.getTotalChunks();
+
+            var gridNode = spatialIOPort.getGridNode();
             var grid = gridNode != null ? gridNode.getGrid() : null;
 
             if (this.delay > 15 && grid != null) {
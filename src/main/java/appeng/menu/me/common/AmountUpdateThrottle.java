@@ -0,0 +1,130 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.menu.me.common;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Decides when a change to the amount of a key is sent to the client. Nobody can read a number that changes every tick,
+ * so amount changes of the same key are sent at most once per update interval, while the latest amount is always sent
+ * eventually. Keys whose amount keeps changing faster than that back off further, up to a limit. Structural changes
+ * (keys appearing or disappearing, changes to craftability) are not throttled.
+ */
+final class AmountUpdateThrottle {
+
+    /**
+     * The update interval of a key that changes continuously is increased up to this multiple of the base interval.
+     */
+    private static final int MAX_BACKOFF_FACTOR = 8;
+
+    private final Map<AEKey, KeyState> states = new HashMap<>();
+
+    /**
+     * Keys with an amount change that has not been sent yet.
+     */
+    private final Set<AEKey> pending = new LinkedHashSet<>();
+
+    private int tick;
+
+    private int baseInterval = 1;
+
+    /**
+     * Advances to the next tick.
+     *
+     * @param baseInterval The minimum number of ticks between two amount updates of the same key.
+     */
+    void tick(int baseInterval) {
+        this.tick++;
+        this.baseInterval = Math.max(1, baseInterval);
+    }
+
+    /**
+     * Records a structural change of the given key, which the caller sends immediately.
+     */
+    void onStructuralChange(AEKey key) {
+        states.remove(key);
+        pending.remove(key);
+    }
+
+    /**
+     * Records a change to the amount of the given key.
+     *
+     * @return True if the change should be sent immediately, false if it has been deferred.
+     */
+    boolean offerAmountChange(AEKey key) {
+        var state = states.computeIfAbsent(key, k -> new KeyState(baseInterval));
+        if (state.pending) {
+            return false;
+        }
+
+        var elapsed = tick - state.lastSent;
+        if (elapsed >= state.interval) {
+            if (elapsed >= 2 * state.interval) {
+                // The key has been quiet for a while
+                state.interval = baseInterval;
+            }
+            state.lastSent = tick;
+            return true;
+        }
+
+        state.pending = true;
+        pending.add(key);
+        return false;
+    }
+
+    /**
+     * Passes all keys whose deferred amount change is now due to the given consumer.
+     */
+    void flushDue(Consumer<AEKey> consumer) {
+        var it = pending.iterator();
+        while (it.hasNext()) {
+            var key = it.next();
+            var state = states.get(key);
+            if (state == null) {
+                it.remove();
+                continue;
+            }
+
+            if (tick - state.lastSent >= state.interval) {
+                it.remove();
+                state.pending = false;
+                state.lastSent = tick;
+                // It changed again before its interval was up, so back off
+                state.interval = Math.min(state.interval * 2, baseInterval * MAX_BACKOFF_FACTOR);
+                consumer.accept(key);
+            }
+        }
+    }
+
+    private static final class KeyState {
+        private int lastSent = Integer.MIN_VALUE / 2;
+        private int interval;
+        private boolean pending;
+
+        private KeyState(int interval) {
+            this.interval = interval;
+        }
+    }
+}
@@ -35,6 +35,15 @@ public interface IClientRepo {
      */
     void handleUpdate(boolean fullUpdate, List<GridInventoryEntry> entries);
 
+    /**
+     * Handle the visible part of a view that the server sorted and filtered on behalf of the client.
+     *
+     * @param totalSize   The number of entries in the entire view.
+     * @param windowStart The position of the first entry in the entire view.
+     * @param entries     The entries starting at <code>windowStart</code>, which replace all known entries.
+     */
+    void handleViewportUpdate(int totalSize, int windowStart, List<GridInventoryEntry> entries);
+
     /**
      * @return All entries in this repository, regardless of any filter.
      */
@@ -95,10 +95,7 @@ public void reset() {
     }
 
     public void addChange(AEKey entry) {
-        if (!changes.add(entry)) {
-            changes.remove(entry);
-            changes.add(entry);
-        }
+        changes.add(entry);
     }
 
     /**
@@ -114,6 +111,14 @@ public void commitChanges() {
         fullUpdate = false;
     }
 
+    /**
+     * Marks the changes that were removed from this helper while iterating over it as sent, while keeping the remaining
+     * changes for a later update. The remaining changes will not be sent as a full update.
+     */
+    public void commitSentChanges() {
+        fullUpdate = false;
+    }
+
     public boolean hasChanges() {
         return fullUpdate || !changes.isEmpty();
     }
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.menu.me.common;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Remembers which {@link AEKey keys} have already been sent over a network connection, so that reopening a terminal can
+ * refer to them by a small id instead of sending their full NBT again. The dictionary lives as long as the connection,
+ * and both sides keep an identical copy of it:
+ * <ul>
+ * <li>The server assigns ids to keys when they are written for the first time, and sends the key along with its
+ * id.</li>
+ * <li>The client records keys along with their id as it reads them, and resolves subsequent references.</li>
+ * </ul>
+ * When the dictionary is full, the server {@link #clear() clears} it and flags the next packet, so the client clears
+ * its copy at the same point in the stream.
+ */
+public final class KeyDictionary {
+
+    /**
+     * Maximum number of keys remembered per connection before the dictionary is reset. This bounds the number of keys
+     * the server holds on to for each player.
+     */
+    private static final int MAX_SIZE = 1 << 14;
+
+    /**
+     * Dictionaries by the connection they are used for. The server and client side use different connection objects,
+     * which also holds true for singleplayer.
+     */
+    private static final Map<Object, KeyDictionary> DICTIONARIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Server-side
+    private final Object2IntMap<AEKey> ids = new Object2IntOpenHashMap<>();
+    private int nextId = 1;
+
+    // Client-side
+    private final Int2ObjectMap<AEKey> keys = new Int2ObjectOpenHashMap<>();
+    /**
+     * Ids of keys the server defined, but which could not be read on the client (i.e. unknown key types).
+     */
+    private final IntSet unreadableIds = new IntOpenHashSet();
+
+    private KeyDictionary() {
+    }
+
+    /**
+     * @return The dictionary of keys sent to the given player.
+     */
+    public static KeyDictionary forPlayer(ServerPlayer player) {
+        return forConnection(player.connection);
+    }
+
+    /**
+     * @return The dictionary for the given connection, which should be the packet listener of the connection, since it
+     *         lives exactly as long as the connection itself.
+     */
+    public static KeyDictionary forConnection(Object connection) {
+        return DICTIONARIES.computeIfAbsent(connection, c -> new KeyDictionary());
+    }
+
+    /**
+     * @return True if the given key needs a new id, but the dictionary has no more room for it. It has to be
+     *         {@link #clear() cleared} and the client notified before the key can be written.
+     */
+    public boolean isFullFor(AEKey key) {
+        return ids.size() >= MAX_SIZE && !ids.containsKey(key);
+    }
+
+    public void clear() {
+        ids.clear();
+        keys.clear();
+        unreadableIds.clear();
+        nextId = 1;
+    }
+
+    /**
+     * Writes a nullable key to the buffer, either as a reference to an id the client already knows, or alongside a
+     * newly assigned id.
+     */
+    public void writeOptionalKey(FriendlyByteBuf buffer, @Nullable AEKey key) {
+        if (key == null) {
+            buffer.writeVarInt(0);
+            return;
+        }
+
+        var id = ids.getInt(key);
+        if (id != 0) {
+            buffer.writeVarInt(id << 1);
+        } else {
+            id = nextId++;
+            ids.put(key, id);
+            buffer.writeVarInt(id << 1 | 1);
+            AEKey.writeKey(buffer, key);
+        }
+    }
+
+    /**
+     * Reads a key written by {@link #writeOptionalKey} on the server side.
+     *
+     * @throws IllegalStateException If the key refers to an id that was never defined, which means the client's copy of
+     *                               the dictionary is out of sync with the server's.
+     */
+    @Nullable
+    public AEKey readOptionalKey(FriendlyByteBuf buffer) {
+        var ref = buffer.readVarInt();
+        if (ref == 0) {
+            return null;
+        }
+
+        var id = ref >>> 1;
+        if ((ref & 1) != 0) {
+            var key = AEKey.readKey(buffer);
+            if (key != null) {
+                keys.put(id, key);
+            } else {
+                unreadableIds.add(id);
+            }
+            return key;
+        }
+
+        var key = keys.get(id);
+        if (key == null && !unreadableIds.contains(id)) {
+            throw new IllegalStateException("Received reference to unknown key id " + id);
+        }
+        return key;
+    }
+}
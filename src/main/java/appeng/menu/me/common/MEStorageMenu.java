@@ -68,6 +68,7 @@
 import appeng.api.util.IConfigManager;
 import appeng.api.util.IConfigurableObject;
 import appeng.client.gui.me.common.MEStorageScreen;
+import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.network.NetworkHandler;
 import appeng.core.network.bidirectional.ConfigValuePacket;
@@ -95,6 +96,12 @@
 public class MEStorageMenu extends AEBaseMenu
         implements IConfigManagerListener, IConfigurableObject, IMEInteractionHandler, LinkStatusAwareMenu {
 
+    /**
+     * Limits how much inventory data is sent to the client per tick. On large networks, the initial content of the
+     * terminal is streamed over several ticks instead of in one burst.
+     */
+    private static final int MAX_UPDATE_BYTES_PER_TICK = 512 * 1024;
+
     public static final MenuType<MEStorageMenu> TYPE = MenuTypeBuilder
             .<MEStorageMenu, ITerminalHost>create(MEStorageMenu::new, ITerminalHost.class)
             .build("item_terminal");
@@ -138,6 +145,18 @@ public class MEStorageMenu extends AEBaseMenu
 
     private final IncrementalUpdateHelper updateHelper = new IncrementalUpdateHelper();
 
+    /**
+     * Coalesces amount changes of keys whose amount changes frequently.
+     */
+    private final AmountUpdateThrottle amountUpdates = new AmountUpdateThrottle();
+
+    /**
+     * The server-side view of the terminal content, if the client only wants to receive the part it shows. Null if the
+     * entire network inventory is synchronized instead.
+     */
+    @Nullable
+    private TerminalViewport viewport;
+
     /**
      * A grid connection is optional for a screen showing the content of a {@link MEStorage}, because inventories like
      * portable cells are not grid connected.
@@ -175,6 +194,9 @@ protected MEStorageMenu(MenuType<?> menuType, int id, Inventory ip, ITerminalHos
 
         if (isServerSide()) {
             this.serverCM = host.getConfigManager();
+            if (ip.player instanceof ServerPlayer serverPlayer && TerminalViewport.isPreferredBy(serverPlayer)) {
+                this.viewport = new TerminalViewport();
+            }
         }
 
         // Create slots for the view cells, in case the terminal host supports those
@@ -261,24 +283,52 @@ public void broadcastChanges() {
             var requestables = new KeyCounter();
 
             try {
+                amountUpdates.tick(AEConfig.instance().getTerminalAmountUpdateInterval());
+
                 // Craftables
                 // Newly craftable
-                Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
+                Sets.difference(previousCraftables, craftables).forEach(this::addStructuralChange);
                 // No longer craftable
-                Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+                Sets.difference(craftables, previousCraftables).forEach(this::addStructuralChange);
 
                 // Available changes
                 previousAvailableStacks.removeAll(availableStacks);
                 previousAvailableStacks.removeZeros();
-                previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+                for (var entry : previousAvailableStacks) {
+                    var key = entry.getKey();
+                    var currentAmount = availableStacks.get(key);
+                    var previousAmount = currentAmount + entry.getLongValue();
+                    if (previousAmount == 0 || currentAmount == 0) {
+                        // Appeared in or disappeared from the network
+                        addStructuralChange(key);
+                    } else if (viewport != null) {
+                        viewport.onAmountChange();
+                    } else if (amountUpdates.offerAmountChange(key)) {
+                        updateHelper.addChange(key);
+                    }
+                }
+
+                if (viewport != null) {
+                    if (getPlayer() instanceof ServerPlayer serverPlayer) {
+                        viewport.refresh(availableStacks, craftables, serverCM, getViewCells(), this::isKeyVisible);
+                        var packet = viewport.createUpdate(containerId, KeyDictionary.forPlayer(serverPlayer),
+                                updateHelper, availableStacks, craftables);
+                        if (packet != null) {
+                            sendPacketToClient(packet);
+                        }
+                    }
+                } else {
+                    amountUpdates.flushDue(updateHelper::addChange);
+                }
 
-                if (updateHelper.hasChanges()) {
-                    var builder = MEInventoryUpdatePacket
-                            .builder(containerId, updateHelper.isFullUpdate());
+                if (viewport == null && updateHelper.hasChanges()
+                        && getPlayer() instanceof ServerPlayer serverPlayer) {
+                    var builder = MEInventoryUpdatePacket.builder(containerId, updateHelper.isFullUpdate(),
+                            KeyDictionary.forPlayer(serverPlayer));
                     builder.setFilter(this::isKeyVisible);
+                    builder.setByteBudget(MAX_UPDATE_BYTES_PER_TICK);
                     builder.addChanges(updateHelper, availableStacks, craftables, requestables);
                     builder.buildAndSend(this::sendPacketToClient);
-                    updateHelper.commitChanges();
                 }
 
             } catch (Exception e) {
@@ -295,6 +345,48 @@ public void broadcastChanges() {
 
     }
 
+    private void addStructuralChange(AEKey key) {
+        if (viewport != null) {
+            viewport.onStructuralChange();
+        } else {
+            amountUpdates.onStructuralChange(key);
+            updateHelper.addChange(key);
+        }
+    }
+
+    /**
+     * Chooses between synchronizing the entire network inventory to the client, or only the part of a server-side
+     * sorted and filtered view that the client shows.
+     *
+     * @param search The client's search string, which the server applies to the view.
+     * @param offset The position of the first entry the client shows.
+     * @param count  The number of entries the client shows.
+     */
+    public void setViewport(boolean enabled, String search, int offset, int count) {
+        if (!(getPlayer() instanceof ServerPlayer serverPlayer)) {
+            return;
+        }
+
+        TerminalViewport.setPreferredBy(serverPlayer, enabled);
+        if (!enabled) {
+            if (viewport != null) {
+                viewport = null;
+                // The client only knows the last window, so it needs the entire inventory again
+                updateHelper.clear();
+                previousCraftables = Collections.emptySet();
+                previousAvailableStacks = new KeyCounter();
+            }
+            return;
+        }
+
+        if (viewport == null) {
+            viewport = new TerminalViewport();
+            // Changes queued for the full synchronization are superseded by the view
+            updateHelper.commitChanges();
+        }
+        viewport.setWindow(search, offset, count);
+    }
+
     protected boolean showsCraftables() {
         return true;
     }
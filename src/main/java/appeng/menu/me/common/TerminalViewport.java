@@ -0,0 +1,348 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.menu.me.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.ItemStack;
+
+import appeng.api.config.Settings;
+import appeng.api.config.SortDir;
+import appeng.api.config.SortOrder;
+import appeng.api.config.TypeFilter;
+import appeng.api.config.ViewItems;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.AEKeyType;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.AEKeyFilter;
+import appeng.api.util.IConfigManager;
+import appeng.core.network.clientbound.MEViewportUpdatePacket;
+import appeng.items.storage.ViewCellItem;
+import appeng.util.Platform;
+import appeng.util.prioritylist.IPartitionList;
+
+/**
+ * A server-side sorted and filtered view of the content shown by a terminal. Clients that opt into it only receive the
+ * entries they can currently see, plus a margin for scrolling, and the size of the entire view. This caps the memory
+ * used on the client and the amount of data sent, regardless of the size of the network.
+ * <p/>
+ * The server cannot see the client's localized names or tooltips, so sorting by name and searching use the names known
+ * to the server, and the search does not include tooltips. Since the search string comes from the client, it is always
+ * matched literally instead of as a regular expression, and rebuilding the view is rate-limited.
+ */
+final class TerminalViewport {
+
+    /**
+     * Limits the number of entries a client can request at once.
+     */
+    static final int MAX_WINDOW_SIZE = 512;
+
+    /**
+     * While the network content keeps changing, the view is re-sorted at most this often (in ticks). Changes of the
+     * sort settings, the search or the view cells are applied immediately.
+     */
+    private static final int REBUILD_INTERVAL = 10;
+
+    /**
+     * Changes of the sort settings, the search or the view cells are applied at most this often (in ticks), so that a
+     * client can't force a rebuild of the view on every tick.
+     */
+    private static final int MIN_REBUILD_INTERVAL = 4;
+
+    /**
+     * Remembers which connections asked for a viewport, so that terminals opened later start out in that mode, instead
+     * of sending their entire content until the client's request arrives.
+     */
+    private static final Map<Object, Boolean> PREFERRED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private String search = "";
+    private Predicate<AEKey> searchPredicate = what -> true;
+    private int offset;
+    private int count;
+
+    private List<AEKey> orderedKeys = List.of();
+    @Nullable
+    private ViewSettings viewSettings;
+    private List<ItemStack> viewCells = List.of();
+    @Nullable
+    private IPartitionList partitionList;
+    private boolean contentChanged;
+    /**
+     * True if the search or the view cells changed since the last rebuild.
+     */
+    private boolean filterChanged;
+    private int ticksSinceRebuild = REBUILD_INTERVAL;
+
+    private int sentTotalSize = -1;
+    private int sentWindowStart = -1;
+    private List<GridInventoryEntry> sentEntries = List.of();
+
+    static boolean isPreferredBy(ServerPlayer player) {
+        return PREFERRED.getOrDefault(player.connection, false);
+    }
+
+    static void setPreferredBy(ServerPlayer player, boolean preferred) {
+        PREFERRED.put(player.connection, preferred);
+    }
+
+    void setWindow(String search, int offset, int count) {
+        if (!this.search.equals(search)) {
+            this.search = search;
+            this.searchPredicate = createSearchPredicate(search);
+            this.filterChanged = true;
+        }
+        this.offset = Math.max(0, offset);
+        this.count = Math.max(0, Math.min(MAX_WINDOW_SIZE, count));
+    }
+
+    /**
+     * Called when a key appeared in or disappeared from the network, or its craftability changed.
+     */
+    void onStructuralChange() {
+        this.contentChanged = true;
+    }
+
+    /**
+     * Called when the amount of a key changed. This only affects the order if sorting by amount.
+     */
+    void onAmountChange() {
+        if (this.viewSettings != null && this.viewSettings.sortOrder() == SortOrder.AMOUNT) {
+            this.contentChanged = true;
+        }
+    }
+
+    /**
+     * Re-sorts the view if the settings or the content changed, and the last rebuild is long enough ago.
+     */
+    void refresh(KeyCounter available, Set<AEKey> craftables, IConfigManager settings, List<ItemStack> viewCells,
+            AEKeyFilter visibleFilter) {
+        this.ticksSinceRebuild++;
+
+        if (!sameViewCells(this.viewCells, viewCells)) {
+            this.viewCells = copyViewCells(viewCells);
+            this.partitionList = ViewCellItem.createFilter(AEKeyFilter.none(), this.viewCells);
+            this.filterChanged = true;
+        }
+
+        var currentSettings = new ViewSettings(
+                settings.getSetting(Settings.SORT_BY),
+                settings.getSetting(Settings.SORT_DIRECTION),
+                settings.getSetting(Settings.VIEW_MODE),
+                settings.getSetting(Settings.TYPE_FILTER));
+        if (this.filterChanged || !currentSettings.equals(this.viewSettings)) {
+            if (this.ticksSinceRebuild < MIN_REBUILD_INTERVAL) {
+                return;
+            }
+        } else if (!this.contentChanged || this.ticksSinceRebuild < REBUILD_INTERVAL) {
+            return;
+        }
+
+        this.viewSettings = currentSettings;
+        this.contentChanged = false;
+        this.filterChanged = false;
+        this.ticksSinceRebuild = 0;
+        this.orderedKeys = buildOrderedKeys(available, craftables, currentSettings, visibleFilter);
+    }
+
+    private List<AEKey> buildOrderedKeys(KeyCounter available, Set<AEKey> craftables, ViewSettings settings,
+            AEKeyFilter visibleFilter) {
+        var keys = new HashSet<AEKey>(available.keySet());
+        keys.addAll(craftables);
+
+        var typeFilter = settings.typeFilter().getFilter();
+        var sortByName = settings.sortOrder() != SortOrder.AMOUNT;
+
+        var entries = new ArrayList<SortEntry>(keys.size());
+        for (var what : keys) {
+            var amount = available.get(what);
+            var craftable = craftables.contains(what);
+            if (amount <= 0 && !craftable
+                    || !visibleFilter.matches(what)
+                    || this.partitionList != null && !this.partitionList.isListed(what)
+                    || settings.viewMode() == ViewItems.CRAFTABLE && !craftable
+                    || settings.viewMode() == ViewItems.STORED && amount <= 0
+                    || !typeFilter.matches(what)
+                    || !this.searchPredicate.test(what)) {
+                continue;
+            }
+
+            // Names are computed once per key, since the comparator would otherwise compute them on every comparison
+            var name = sortByName ? what.getDisplayName().getString() : "";
+            entries.add(new SortEntry(what, name, amount / (double) what.getAmountPerUnit()));
+        }
+
+        entries.sort(getComparator(settings.sortOrder(), settings.sortDir()));
+
+        var result = new ArrayList<AEKey>(entries.size());
+        for (var entry : entries) {
+            result.add(entry.what());
+        }
+        return result;
+    }
+
+    /**
+     * Creates an update for the client, if the window it looks at has changed since the last update.
+     */
+    @Nullable
+    MEViewportUpdatePacket createUpdate(int containerId, KeyDictionary keyDictionary,
+            IncrementalUpdateHelper serials, KeyCounter available, Set<AEKey> craftables) {
+        // Send one more window worth of entries in each direction, so that scrolling does not show empty slots
+        var totalSize = this.orderedKeys.size();
+        var windowStart = Math.min(Math.max(0, this.offset - this.count), totalSize);
+        var windowEnd = Math.min(totalSize, this.offset + 2 * this.count);
+
+        var entries = new ArrayList<GridInventoryEntry>(windowEnd - windowStart);
+        for (int i = windowStart; i < windowEnd; i++) {
+            var what = this.orderedKeys.get(i);
+            entries.add(new GridInventoryEntry(
+                    serials.getOrAssignSerial(what),
+                    what,
+                    available.get(what),
+                    0,
+                    craftables.contains(what)));
+        }
+
+        if (totalSize == this.sentTotalSize && windowStart == this.sentWindowStart
+                && sameEntries(entries, this.sentEntries)) {
+            return null;
+        }
+
+        this.sentTotalSize = totalSize;
+        this.sentWindowStart = windowStart;
+        this.sentEntries = entries;
+        return MEViewportUpdatePacket.create(containerId, totalSize, windowStart, entries, keyDictionary);
+    }
+
+    /**
+     * @return The keys in the view, in the order they are shown.
+     */
+    List<AEKey> getOrderedKeys() {
+        return Collections.unmodifiableList(this.orderedKeys);
+    }
+
+    private static boolean sameEntries(List<GridInventoryEntry> a, List<GridInventoryEntry> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            var x = a.get(i);
+            var y = b.get(i);
+            if (x.getSerial() != y.getSerial()
+                    || x.getStoredAmount() != y.getStoredAmount()
+                    || x.isCraftable() != y.isCraftable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameViewCells(List<ItemStack> a, List<ItemStack> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!ItemStack.matches(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<ItemStack> copyViewCells(List<ItemStack> viewCells) {
+        var result = new ArrayList<ItemStack>(viewCells.size());
+        for (var viewCell : viewCells) {
+            result.add(viewCell.copy());
+        }
+        return result;
+    }
+
+    private static Comparator<SortEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+        Comparator<SortEntry> comparator = switch (sortOrder) {
+            case NAME -> Comparator.comparing(SortEntry::name, String::compareToIgnoreCase);
+            case MOD -> Comparator.comparing((SortEntry entry) -> entry.what().getModId(), String::compareToIgnoreCase)
+                    .thenComparing(SortEntry::name, String::compareToIgnoreCase);
+            case AMOUNT -> Comparator.comparingDouble(SortEntry::amount);
+        };
+        if (sortDir == SortDir.DESCENDING) {
+            comparator = comparator.reversed();
+        }
+        // Break ties, so that entries do not swap places when the view is rebuilt
+        return comparator.thenComparing(entry -> entry.what().getId())
+                .thenComparingInt(entry -> entry.what().hashCode());
+    }
+
+    /**
+     * Supports the same prefixes as the client-side search, except that tooltips are not searched. Unlike on the
+     * client, the search text is matched literally and case-insensitively, since an arbitrary regular expression could
+     * take a very long time to evaluate.
+     */
+    private static Predicate<AEKey> createSearchPredicate(String searchString) {
+        if (searchString.isEmpty()) {
+            return what -> true;
+        } else if (searchString.startsWith("@")) {
+            var text = normalize(searchString.substring(1));
+            return what -> normalize(what.getModId()).contains(text)
+                    || normalize(Platform.getModName(what.getModId())).contains(text);
+        } else if (searchString.startsWith("*")) {
+            var text = normalize(searchString.substring(1));
+            return what -> normalize(what.getId().toString()).contains(text);
+        } else if (searchString.startsWith("#")) {
+            var text = normalize(searchString.substring(1));
+            var matchingTags = new IdentityHashMap<AEKeyType, List<TagKey<?>>>();
+            return what -> {
+                var tags = matchingTags.computeIfAbsent(what.getType(), type -> type.getTagNames()
+                        .filter(tag -> tag.location().toString().contains(text))
+                        .toList());
+                for (var tag : tags) {
+                    if (what.isTagged(tag)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else {
+            var text = normalize(searchString);
+            return what -> normalize(what.getDisplayName().getString()).contains(text);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private record ViewSettings(SortOrder sortOrder, SortDir sortDir, ViewItems viewMode, TypeFilter typeFilter) {
+    }
+
+    private record SortEntry(AEKey what, String name, double amount) {
+    }
+}
@@ -71,6 +71,11 @@ public class CraftConfirmMenu extends AEBaseMenu implements ISubMenu {
 
     private static final SyncableSubmitResult NO_ERROR = new SyncableSubmitResult((ICraftingSubmitResult) null);
 
+    /**
+     * The maximum number of plan entries sent to the client per tick.
+     */
+    private static final int PLAN_PAGE_SIZE = 256;
+
     public static final MenuType<CraftConfirmMenu> TYPE = MenuTypeBuilder
             .create(CraftConfirmMenu::new, ISubMenuHost.class)
             .build("craftconfirm");
@@ -103,6 +108,11 @@ public class CraftConfirmMenu extends AEBaseMenu implements ISubMenu {
 
     private CraftingPlanSummary plan;
 
+    /**
+     * Server-side: the number of plan entries that have been sent to the client so far.
+     */
+    private int sentPlanEntries;
+
     private final ISubMenuHost host;
 
     /**
@@ -227,8 +237,8 @@ public void broadcastChanges() {
                 }
 
                 this.plan = CraftingPlanSummary.fromJob(getGrid(), getActionSrc(), this.result);
-
-                sendPacketToClient(new CraftConfirmPlanPacket(plan));
+                this.sentPlanEntries = 0;
+                sendNextPlanPage();
             } catch (Throwable e) {
                 this.getPlayerInventory().player.sendSystemMessage(Component.literal("Error: " + e));
                 AELog.warn("Failed to start crafting job.", e);
@@ -237,9 +247,21 @@ public void broadcastChanges() {
             }
 
             this.job = null;
+        } else if (this.plan != null && this.sentPlanEntries < this.plan.getTotalEntries()) {
+            sendNextPlanPage();
         }
     }
 
+    /**
+     * Large plans are sent in pages over several ticks. Since entries are sorted by missing amount, the first page
+     * contains what is missing.
+     */
+    private void sendNextPlanPage() {
+        var packet = CraftConfirmPlanPacket.page(plan, sentPlanEntries, PLAN_PAGE_SIZE);
+        sendPacketToClient(packet);
+        sentPlanEntries += packet.page().size();
+    }
+
     private IGrid getGrid() {
         final IActionHost h = (IActionHost) this.getTarget();
         final IGridNode a = h.getActionableNode();
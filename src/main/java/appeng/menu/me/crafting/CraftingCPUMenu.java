@@ -46,6 +46,13 @@ public class CraftingCPUMenu extends AEBaseMenu {
 
     private static final String ACTION_CANCEL_CRAFTING = "cancelCrafting";
 
+    /**
+     * Minimum number of ticks between two incremental status updates. Changes that happen in-between are coalesced by
+     * the {@link IncrementalUpdateHelper}, so a large job that changes every tick only sends what changed since the
+     * last update.
+     */
+    private static final int STATUS_UPDATE_INTERVAL = 10;
+
     public static final MenuType<CraftingCPUMenu> TYPE = MenuTypeBuilder
             .create(CraftingCPUMenu::new, CraftingBlockEntity.class)
             .withMenuTitle(craftingBlockEntity -> {
@@ -62,6 +69,7 @@ public class CraftingCPUMenu extends AEBaseMenu {
     private final IGrid grid;
     private CraftingCPUCluster cpu = null;
     private final Consumer<AEKey> cpuChangeListener = incrementalUpdateHelper::addChange;
+    private int ticksSinceStatusUpdate;
 
     @GuiSync(0)
     public CpuSelectionMode schedulingMode = CpuSelectionMode.ANY;
@@ -142,7 +150,10 @@ public void broadcastChanges() {
             this.schedulingMode = this.cpu.getSelectionMode();
             this.cantStoreItems = this.cpu.craftingLogic.isCantStoreItems();
 
-            if (this.incrementalUpdateHelper.hasChanges()) {
+            this.ticksSinceStatusUpdate++;
+            if (this.incrementalUpdateHelper.hasChanges() && (this.incrementalUpdateHelper.isFullUpdate()
+                    || this.ticksSinceStatusUpdate >= STATUS_UPDATE_INTERVAL)) {
+                this.ticksSinceStatusUpdate = 0;
                 CraftingStatus status = CraftingStatus.create(this.incrementalUpdateHelper, this.cpu.craftingLogic);
                 this.incrementalUpdateHelper.commitChanges();
 
@@ -18,15 +18,12 @@
 
 package appeng.menu.me.crafting;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 
-import com.google.common.collect.ImmutableList;
-
-import net.minecraft.network.FriendlyByteBuf;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 
 import appeng.api.config.Actionable;
 import appeng.api.networking.IGrid;
@@ -36,6 +33,9 @@
 
 /**
  * A crafting plan intended to be sent to the client.
+ * <p/>
+ * The entries are stored in parallel arrays, sorted with missing ingredients first. Large plans are sent to the client
+ * in {@link #getPage pages}, so on the client-side the summary may not have received all of its entries yet.
  */
 public class CraftingPlanSummary {
 
@@ -49,12 +49,46 @@ public class CraftingPlanSummary {
      */
     private final boolean simulation;
 
-    private final List<CraftingPlanSummaryEntry> entries;
+    private final AEKey[] keys;
+    private final long[] missingAmounts;
+    private final long[] storedAmounts;
+    private final long[] craftAmounts;
 
-    public CraftingPlanSummary(long usedBytes, boolean simulation, List<CraftingPlanSummaryEntry> entries) {
+    /**
+     * The number of entries available so far. Less than the length of the arrays while entries are still being received
+     * on the client-side.
+     */
+    private int size;
+
+    private final List<CraftingPlanSummaryEntry> entries = new AbstractList<>() {
+        @Override
+        public CraftingPlanSummaryEntry get(int index) {
+            Objects.checkIndex(index, size);
+            return new CraftingPlanSummaryEntry(keys[index], missingAmounts[index], storedAmounts[index],
+                    craftAmounts[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    /**
+     * Creates an empty summary that will receive the given number of entries using {@link #addPage}.
+     */
+    public CraftingPlanSummary(long usedBytes, boolean simulation, int totalEntries) {
         this.usedBytes = usedBytes;
         this.simulation = simulation;
-        this.entries = entries;
+        this.keys = new AEKey[totalEntries];
+        this.missingAmounts = new long[totalEntries];
+        this.storedAmounts = new long[totalEntries];
+        this.craftAmounts = new long[totalEntries];
+    }
+
+    public CraftingPlanSummary(long usedBytes, boolean simulation, List<CraftingPlanSummaryEntry> entries) {
+        this(usedBytes, simulation, entries.size());
+        addPage(entries);
     }
 
     public long getUsedBytes() {
@@ -65,30 +99,51 @@ public boolean isSimulation() {
         return simulation;
     }
 
+    /**
+     * @return The entries available so far.
+     */
     public List<CraftingPlanSummaryEntry> getEntries() {
         return entries;
     }
 
-    public void write(FriendlyByteBuf buffer) {
-        buffer.writeVarLong(usedBytes);
-        buffer.writeBoolean(simulation);
-        buffer.writeVarInt(entries.size());
-        for (CraftingPlanSummaryEntry entry : entries) {
-            entry.write(buffer);
-        }
+    /**
+     * @return The number of entries in the complete plan.
+     */
+    public int getTotalEntries() {
+        return keys.length;
     }
 
-    public static CraftingPlanSummary read(FriendlyByteBuf buffer) {
+    /**
+     * @return True if all entries of the plan are available.
+     */
+    public boolean isComplete() {
+        return size == keys.length;
+    }
 
-        long bytesUsed = buffer.readVarLong();
-        boolean simulation = buffer.readBoolean();
-        int entryCount = buffer.readVarInt();
-        ImmutableList.Builder<CraftingPlanSummaryEntry> entries = ImmutableList.builder();
-        for (int i = 0; i < entryCount; i++) {
-            entries.add(CraftingPlanSummaryEntry.read(buffer));
+    /**
+     * @return Up to <code>maxEntries</code> entries starting at the given offset.
+     */
+    public List<CraftingPlanSummaryEntry> getPage(int offset, int maxEntries) {
+        return List.copyOf(entries.subList(offset, Math.min(size, offset + maxEntries)));
+    }
+
+    /**
+     * Appends the next page of entries received from the server.
+     */
+    public void addPage(List<CraftingPlanSummaryEntry> page) {
+        if (size + page.size() > keys.length) {
+            throw new IllegalArgumentException("Plan only has " + keys.length + " entries");
+        }
+        for (var entry : page) {
+            set(size++, entry.getWhat(), entry.getMissingAmount(), entry.getStoredAmount(), entry.getCraftAmount());
         }
+    }
 
-        return new CraftingPlanSummary(bytesUsed, simulation, entries.build());
+    private void set(int index, AEKey what, long missingAmount, long storedAmount, long craftAmount) {
+        keys[index] = what;
+        missingAmounts[index] = missingAmount;
+        storedAmounts[index] = storedAmount;
+        craftAmounts[index] = craftAmount;
     }
 
     private static class KeyStats {
@@ -128,7 +183,7 @@ private KeyStats mapping(AEKey key) {
             }
         }
 
-        var entries = new ArrayList<CraftingPlanSummaryEntry>();
+        var unsorted = new CraftingPlanSummary(job.bytes(), job.simulation(), plan.size());
 
         var storage = grid.getStorageService().getInventory();
         var crafting = grid.getCraftingService();
@@ -145,18 +200,37 @@ private KeyStats mapping(AEKey key) {
             }
             long craftAmount = out.getValue().crafting;
 
-            entries.add(new CraftingPlanSummaryEntry(
-                    out.getKey(),
-                    missingAmount,
-                    storedAmount,
-                    craftAmount));
-
+            unsorted.set(unsorted.size++, out.getKey(), missingAmount, storedAmount, craftAmount);
         }
 
-        Collections.sort(entries);
+        return unsorted.sorted();
+    }
 
-        return new CraftingPlanSummary(job.bytes(), job.simulation(), List.copyOf(entries));
+    /**
+     * @return A copy of this summary with its entries in the order of {@link CraftingPlanSummaryEntry#compareTo}.
+     */
+    private CraftingPlanSummary sorted() {
+        var order = new int[size];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // Descending by missing, crafted and then stored amount
+        IntArrays.quickSort(order, (a, b) -> {
+            var result = Long.compare(missingAmounts[b], missingAmounts[a]);
+            if (result == 0) {
+                result = Long.compare(craftAmounts[b], craftAmounts[a]);
+            }
+            if (result == 0) {
+                result = Long.compare(storedAmounts[b], storedAmounts[a]);
+            }
+            return result;
+        });
 
+        var result = new CraftingPlanSummary(usedBytes, simulation, size);
+        for (var index : order) {
+            result.set(result.size++, keys[index], missingAmounts[index], storedAmounts[index], craftAmounts[index]);
+        }
+        return result;
     }
 
 }
@@ -18,6 +18,8 @@
 
 package appeng.parts.automation;
 
+import java.util.HashSet;
+
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -36,11 +38,13 @@
 import appeng.api.config.Settings;
 import appeng.api.config.YesNo;
 import appeng.api.networking.IGrid;
+import appeng.api.networking.IStackWatcher;
 import appeng.api.networking.crafting.ICraftingLink;
 import appeng.api.networking.crafting.ICraftingRequester;
 import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.networking.energy.IEnergyService;
 import appeng.api.networking.storage.IStorageService;
+import appeng.api.networking.storage.IStorageWatcherNode;
 import appeng.api.parts.IPartCollisionHelper;
 import appeng.api.parts.IPartItem;
 import appeng.api.parts.IPartModel;
@@ -79,11 +83,35 @@ public class ExportBusPart extends IOBusPart implements ICraftingRequester {
     private int nextSlot = 0;
     @Nullable
     private StackExportStrategy exportStrategy;
+    @Nullable
+    private IStackWatcher storageWatcher;
+    /**
+     * Set while none of the configured keys is available in network storage. The bus then sleeps until the storage
+     * watcher reports one of them becoming available, instead of polling at its slowest rate.
+     */
+    private boolean waitingForStock;
+
+    private final IStorageWatcherNode storageWatcherNode = new IStorageWatcherNode() {
+        @Override
+        public void updateWatcher(IStackWatcher newWatcher) {
+            storageWatcher = newWatcher;
+            configureWatcher();
+        }
+
+        @Override
+        public void onStackChange(AEKey what, long amount) {
+            if (waitingForStock && amount > 0) {
+                waitingForStock = false;
+                getMainNode().ifPresent((grid, node) -> grid.getTickManager().alertDevice(node));
+            }
+        }
+    };
 
     public ExportBusPart(IPartItem<?> partItem) {
         super(TickRates.ExportBus, StackWorldBehaviors.hasExportStrategyFilter(), partItem);
         this.craftingTracker = new MultiCraftingTracker(this, getConfig().size());
         getMainNode().addService(ICraftingRequester.class, this);
+        getMainNode().addService(IStorageWatcherNode.class, storageWatcherNode);
 
         this.getConfigManager().registerSetting(Settings.CRAFT_ONLY, YesNo.NO);
         this.getConfigManager().registerSetting(Settings.SCHEDULING_MODE, SchedulingMode.DEFAULT);
@@ -170,11 +198,61 @@ protected boolean doBusWork(IGrid grid) {
         // Round-robin should only advance if something was actually exported
         if (context.hasDoneWork()) {
             this.updateSchedulingMode(schedulingMode, x);
+        } else if (canWaitForStock()) {
+            this.waitingForStock = !hasAnyConfiguredStock(storageService);
         }
 
         return context.hasDoneWork();
     }
 
+    /**
+     * Waiting for stock is only possible if the watcher can observe all keys the bus would export, and the bus would
+     * not request crafting for missing keys.
+     */
+    private boolean canWaitForStock() {
+        return this.storageWatcher != null && !isUpgradedWith(AEItems.FUZZY_CARD) && !isCraftingEnabled();
+    }
+
+    private boolean hasAnyConfiguredStock(IStorageService storageService) {
+        var inventory = storageService.getCachedInventory();
+        for (int i = 0; i < this.availableSlots(); i++) {
+            var what = getConfig().getKey(i);
+            if (what != null && inventory.get(what) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void configureWatcher() {
+        this.waitingForStock = false;
+
+        if (this.storageWatcher != null) {
+            this.storageWatcher.reset();
+            if (canWaitForStock()) {
+                var keys = new HashSet<AEKey>();
+                for (int i = 0; i < this.availableSlots(); i++) {
+                    var what = getConfig().getKey(i);
+                    if (what != null) {
+                        keys.add(what);
+                    }
+                }
+                this.storageWatcher.addAll(keys);
+            }
+        }
+    }
+
+    @Override
+    protected void updateState() {
+        super.updateState();
+        configureWatcher();
+    }
+
+    @Override
+    protected boolean isWaitingForAlert() {
+        return this.waitingForStock;
+    }
+
     private void attemptCrafting(StackTransferContext context, ICraftingService cg, int slotToExport, AEKey what) {
         // don't bother crafting / checking or result, if target cannot accept at least 1 of requested item
         var maxAmount = context.getOperationsRemaining() * what.getAmountPerOperation();
@@ -18,6 +18,7 @@
 
 package appeng.parts.automation;
 
+import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.BlockPos;
@@ -50,6 +51,7 @@
 import appeng.helpers.IConfigInvHost;
 import appeng.items.parts.PartModels;
 import appeng.me.helpers.MachineSource;
+import appeng.me.service.EnergyService;
 import appeng.menu.MenuOpener;
 import appeng.menu.locator.MenuLocators;
 import appeng.parts.PartModel;
@@ -207,14 +209,21 @@ public final TickRateModulation tickingRequest(IGridNode node, int ticksSinceLas
 
         var hasDoneWork = this.doBusWork(node.getGrid());
 
-        // We may be back to sleep (i.e. in pulse mode)
-        if (isSleeping()) {
+        // We may be back to sleep (i.e. in pulse mode), or have nothing to do until we're alerted
+        if (isSleeping() || !hasDoneWork && isWaitingForAlert()) {
             return TickRateModulation.SLEEP;
+        } else if (hasDoneWork && !isGridInBrownOut(node)) {
+            return TickRateModulation.FASTER;
         } else {
-            return hasDoneWork ? TickRateModulation.FASTER : TickRateModulation.SLOWER;
+            // Back off while the grid is running low on energy, even if there's work to do
+            return TickRateModulation.SLOWER;
         }
     }
 
+    private static boolean isGridInBrownOut(IGridNode node) {
+        return node.getGrid().getEnergyService() instanceof EnergyService energyService && energyService.isBrownOut();
+    }
+
     /**
      * Checks if the bus can actually do something.
      * <p>
@@ -234,7 +243,11 @@ protected final boolean canDoBusWork() {
         return Platform.areBlockEntitiesTicking(self.getLevel(), targetPos);
     }
 
-    private void updateState() {
+    /**
+     * Called when the config or the installed upgrades have changed.
+     */
+    @MustBeInvokedByOverriders
+    protected void updateState() {
         filter = null; // rebuild the filter
 
         updateRedstoneState();
@@ -292,6 +305,14 @@ protected boolean isSleeping() {
 
     protected abstract boolean doBusWork(IGrid grid);
 
+    /**
+     * Allows buses to sleep after a tick in which they did no work, if they know that there will be no work until
+     * something {@link appeng.api.networking.ticking.ITickManager#alertDevice alerts} them.
+     */
+    protected boolean isWaitingForAlert() {
+        return false;
+    }
+
     @Override
     public void addToWorld() {
         super.addToWorld();
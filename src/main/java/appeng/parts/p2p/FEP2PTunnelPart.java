@@ -60,7 +60,8 @@ public int extractEnergy(int maxExtract, boolean simulate) {
         public int receiveEnergy(int maxReceive, boolean simulate) {
             int total = 0;
 
-            final int outputTunnels = FEP2PTunnelPart.this.getOutputs().size();
+            final var outputs = FEP2PTunnelPart.this.getOutputs();
+            final int outputTunnels = outputs.size();
 
             if (outputTunnels == 0 | maxReceive == 0) {
                 return 0;
@@ -69,7 +70,9 @@ public int receiveEnergy(int maxReceive, boolean simulate) {
             final int amountPerOutput = maxReceive / outputTunnels;
             int overflow = amountPerOutput == 0 ? maxReceive : maxReceive % amountPerOutput;
 
-            for (FEP2PTunnelPart target : FEP2PTunnelPart.this.getOutputs()) {
+            final int start = getDistributionStart(outputTunnels, simulate);
+            for (int i = 0; i < outputTunnels; i++) {
+                final FEP2PTunnelPart target = outputs.get((start + i) % outputTunnels);
                 try (CapabilityGuard capabilityGuard = target.getAdjacentCapability()) {
                     final IEnergyStorage output = capabilityGuard.get();
                     final int toSend = amountPerOutput + overflow;
@@ -79,7 +79,8 @@ public boolean isFluidValid(int tank, FluidStack stack) {
         public int fill(FluidStack resource, FluidAction action) {
             int total = 0;
 
-            final int outputTunnels = FluidP2PTunnelPart.this.getOutputs().size();
+            final var outputs = FluidP2PTunnelPart.this.getOutputs();
+            final int outputTunnels = outputs.size();
             final int amount = resource.getAmount();
 
             if (outputTunnels == 0 || amount == 0) {
@@ -89,7 +90,9 @@ public int fill(FluidStack resource, FluidAction action) {
             final int amountPerOutput = amount / outputTunnels;
             int overflow = amountPerOutput == 0 ? amount : amount % amountPerOutput;
 
-            for (FluidP2PTunnelPart target : FluidP2PTunnelPart.this.getOutputs()) {
+            final int start = getDistributionStart(outputTunnels, action.simulate());
+            for (int i = 0; i < outputTunnels; i++) {
+                final FluidP2PTunnelPart target = outputs.get((start + i) % outputTunnels);
                 try (CapabilityGuard capabilityGuard = target.getAdjacentCapability()) {
                     final IFluidHandler output = capabilityGuard.get();
                     final int toSend = amountPerOutput + overflow;
@@ -69,7 +69,8 @@ public ItemStack getStackInSlot(int slot) {
         public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
             int remainder = stack.getCount();
 
-            final int outputTunnels = ItemP2PTunnelPart.this.getOutputs().size();
+            final var outputs = ItemP2PTunnelPart.this.getOutputs();
+            final int outputTunnels = outputs.size();
             final int amount = stack.getCount();
 
             if (outputTunnels == 0 || amount == 0) {
@@ -79,7 +80,9 @@ public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
             final int amountPerOutput = amount / outputTunnels;
             int overflow = amountPerOutput == 0 ? amount : amount % amountPerOutput;
 
-            for (ItemP2PTunnelPart target : ItemP2PTunnelPart.this.getOutputs()) {
+            final int start = getDistributionStart(outputTunnels, simulate);
+            for (int i = 0; i < outputTunnels; i++) {
+                final ItemP2PTunnelPart target = outputs.get((start + i) % outputTunnels);
                 try (CapabilityGuard capabilityGuard = target.getAdjacentCapability()) {
                     final IItemHandler output = capabilityGuard.get();
                     final int toSend = amountPerOutput + overflow;
@@ -57,6 +57,7 @@
 
     private boolean output;
     private short freq;
+    private int distributionCursor;
 
     public P2PTunnelPart(IPartItem<?> partItem) {
         super(partItem);
@@ -84,18 +85,38 @@ public T getInput() {
         return null;
     }
 
+    /**
+     * @return The output tunnels connected to this input tunnel. The returned list must not be modified.
+     */
     public List<T> getOutputs() {
-        return getOutputStream().toList();
-    }
-
-    public Stream<T> getOutputStream() {
         if (this.getMainNode().isActive()) {
             var grid = getMainNode().getGrid();
             if (grid != null) {
-                return P2PService.get(grid).getOutputs(this.getFrequency(), this.getClass());
+                return P2PService.get(grid).getOutputList(this.getFrequency(), this.getClass());
             }
         }
-        return Stream.empty();
+        return List.of();
+    }
+
+    public Stream<T> getOutputStream() {
+        return getOutputs().stream();
+    }
+
+    /**
+     * Returns the index of the output that distributing something across the given number of outputs should start with.
+     * Rotating the start ensures that remainders of an uneven distribution don't always go to the same outputs. The
+     * rotation only advances for non-simulated distributions, so a simulation is followed by an identical real
+     * distribution.
+     */
+    protected int getDistributionStart(int outputCount, boolean simulate) {
+        if (outputCount <= 1) {
+            return 0;
+        }
+        var start = Math.floorMod(this.distributionCursor, outputCount);
+        if (!simulate) {
+            this.distributionCursor = start + 1;
+        }
+        return start;
     }
 
     @Override
@@ -47,9 +47,29 @@ final class CompassRegion extends AESavedData {
 
     private static final int BITMAP_LENGTH = CHUNKS_PER_REGION * CHUNKS_PER_REGION;
 
+    /**
+     * Edge length in chunks of the fine and coarse blocks of the occupancy summary.
+     */
+    private static final int FINE_BLOCK_SIZE = 8;
+    private static final int COARSE_BLOCK_SIZE = 64;
+
     // Key is the section index, see ChunkAccess.getSections()
     private final Map<Integer, BitSet> sections = new HashMap<>();
 
+    /**
+     * Union of all sections: chunks that have skystone in any section. This is derived from {@link #sections} and not
+     * saved.
+     */
+    private final BitSet columns = new BitSet(BITMAP_LENGTH);
+
+    /**
+     * The number of chunks with skystone in each block of 8x8 and 64x64 chunks, and in the entire region. Used to skip
+     * empty areas when searching for the closest skystone.
+     */
+    private final int[] fineBlockCounts = new int[getBlockCount(FINE_BLOCK_SIZE)];
+    private final int[] coarseBlockCounts = new int[getBlockCount(COARSE_BLOCK_SIZE)];
+    private int totalCount;
+
     /**
      * Gets the name of the save data for a region that has the given coordinates.
      */
@@ -86,6 +106,13 @@ public static CompassRegion load(CompoundTag nbt) {
                 AELog.warn("Compass region contains unknown NBT tag %s", key);
             }
         }
+
+        for (var section : result.sections.values()) {
+            result.columns.or(section);
+        }
+        for (var i = result.columns.nextSetBit(0); i >= 0; i = result.columns.nextSetBit(i + 1)) {
+            result.updateCounts(i, 1);
+        }
         return result;
     }
 
@@ -102,13 +129,31 @@ public CompoundTag save(CompoundTag compound) {
     }
 
     boolean hasSkyStone(int cx, int cz) {
-        var bitmapIndex = getBitmapIndex(cx, cz);
-        for (BitSet bitmap : sections.values()) {
-            if (bitmap.get(bitmapIndex)) {
-                return true;
-            }
+        return columns.get(getBitmapIndex(cx, cz));
+    }
+
+    /**
+     * Gets the number of consecutive chunks, starting at the given chunk and moving along the x-axis or z-axis, that
+     * are known to contain no skystone. Coordinates wrap around at the region border like they do for
+     * {@link #hasSkyStone(int, int)}.
+     *
+     * @return 0 if the given chunk contains skystone, otherwise at least 1.
+     */
+    int getEmptyRun(int cx, int cz, boolean alongX) {
+        if (totalCount == 0) {
+            return CHUNKS_PER_REGION;
         }
-        return false;
+
+        cx &= CHUNKS_PER_REGION - 1;
+        cz &= CHUNKS_PER_REGION - 1;
+        var pos = alongX ? cx : cz;
+        if (coarseBlockCounts[getBlockIndex(cx, cz, COARSE_BLOCK_SIZE)] == 0) {
+            return COARSE_BLOCK_SIZE - (pos & (COARSE_BLOCK_SIZE - 1));
+        }
+        if (fineBlockCounts[getBlockIndex(cx, cz, FINE_BLOCK_SIZE)] == 0) {
+            return FINE_BLOCK_SIZE - (pos & (FINE_BLOCK_SIZE - 1));
+        }
+        return columns.get(cx + cz * CHUNKS_PER_REGION) ? 0 : 1;
     }
 
     boolean hasSkyStone(int cx, int cz, int sectionIndex) {
@@ -145,6 +190,47 @@ void setHasSkyStone(int cx, int cz, int sectionIndex, boolean hasSkyStone) {
                 section.set(bitmapIndex);
             }
         }
+
+        updateColumn(bitmapIndex);
+    }
+
+    /**
+     * Updates the union of all sections and the occupancy summary for a chunk after one of its sections changed.
+     */
+    private void updateColumn(int bitmapIndex) {
+        var hasSkyStone = false;
+        for (var section : sections.values()) {
+            if (section.get(bitmapIndex)) {
+                hasSkyStone = true;
+                break;
+            }
+        }
+
+        if (columns.get(bitmapIndex) != hasSkyStone) {
+            columns.set(bitmapIndex, hasSkyStone);
+            updateCounts(bitmapIndex, hasSkyStone ? 1 : -1);
+        }
+    }
+
+    private void updateCounts(int bitmapIndex, int delta) {
+        var cx = bitmapIndex % CHUNKS_PER_REGION;
+        var cz = bitmapIndex / CHUNKS_PER_REGION;
+        fineBlockCounts[getBlockIndex(cx, cz, FINE_BLOCK_SIZE)] += delta;
+        coarseBlockCounts[getBlockIndex(cx, cz, COARSE_BLOCK_SIZE)] += delta;
+        totalCount += delta;
+    }
+
+    private static int getBlockCount(int blockSize) {
+        var blocksPerAxis = CHUNKS_PER_REGION / blockSize;
+        return blocksPerAxis * blocksPerAxis;
+    }
+
+    /**
+     * @param cx Chunk x-coordinate relative to the region.
+     * @param cz Chunk z-coordinate relative to the region.
+     */
+    private static int getBlockIndex(int cx, int cz, int blockSize) {
+        return cx / blockSize + cz / blockSize * (CHUNKS_PER_REGION / blockSize);
     }
 
     private static int getBitmapIndex(int cx, int cz) {
@@ -78,64 +78,71 @@ private static Result calculateCompassDirection(DirectionQuery query) {
         }
 
         // spiral outward...
+        var closest = new Closest(cx, cz);
         for (int offset = 1; offset < query.maxRange(); offset++) {
             final int minX = cx - offset;
             final int minZ = cz - offset;
             final int maxX = cx + offset;
             final int maxZ = cz + offset;
 
-            int closest = Integer.MAX_VALUE;
-            int chosen_x = cx;
-            int chosen_z = cz;
-
-            for (int z = minZ; z <= maxZ; z++) {
-                if (cr.hasSkyStone(minX, z)) {
-                    final int closeness = dist(cx, cz, minX, z);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = minX;
-                        chosen_z = z;
-                    }
-                }
+            scanLine(cr, minX, minZ, maxZ, false, closest);
+            scanLine(cr, maxX, minZ, maxZ, false, closest);
+            scanLine(cr, minZ, minX + 1, maxX - 1, true, closest);
+            scanLine(cr, maxZ, minX + 1, maxX - 1, true, closest);
 
-                if (cr.hasSkyStone(maxX, z)) {
-                    final int closeness = dist(cx, cz, maxX, z);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = maxX;
-                        chosen_z = z;
-                    }
-                }
+            if (closest.distance < Integer.MAX_VALUE) {
+                return new Result(true, false, rad(cx, cz, closest.x, closest.z), closest.distance);
             }
+        }
 
-            for (int x = minX + 1; x < maxX; x++) {
-                if (cr.hasSkyStone(x, minZ)) {
-                    final int closeness = dist(cx, cz, x, minZ);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = x;
-                        chosen_z = minZ;
-                    }
-                }
+        // didn't find shit...
+        return Result.INDETERMINATE;
+    }
 
-                if (cr.hasSkyStone(x, maxZ)) {
-                    final int closeness = dist(cx, cz, x, maxZ);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = x;
-                        chosen_z = maxZ;
-                    }
-                }
+    /**
+     * Scans a line of chunks along one axis for skystone, skipping over areas the region knows to be empty.
+     *
+     * @param fixed The coordinate on the other axis.
+     * @param from  The first coordinate along the axis (inclusive).
+     * @param to    The last coordinate along the axis (inclusive).
+     */
+    private static void scanLine(CompassRegion cr, int fixed, int from, int to, boolean alongX, Closest closest) {
+        for (int i = from; i <= to;) {
+            int x = alongX ? i : fixed;
+            int z = alongX ? fixed : i;
+            int emptyRun = cr.getEmptyRun(x, z, alongX);
+            if (emptyRun == 0) {
+                closest.offer(x, z);
+                i++;
+            } else {
+                i += emptyRun;
             }
+        }
+    }
 
-            if (closest < Integer.MAX_VALUE) {
-                return new Result(true, false, rad(cx, cz, chosen_x, chosen_z),
-                        dist(cx, cz, chosen_x, chosen_z));
-            }
+    /**
+     * The closest chunk with skystone found so far.
+     */
+    private static final class Closest {
+        private final int originX;
+        private final int originZ;
+        private int distance = Integer.MAX_VALUE;
+        private int x;
+        private int z;
+
+        private Closest(int originX, int originZ) {
+            this.originX = originX;
+            this.originZ = originZ;
         }
 
-        // didn't find shit...
-        return Result.INDETERMINATE;
+        private void offer(int x, int z) {
+            var closeness = dist(originX, originZ, x, z);
+            if (closeness < distance) {
+                distance = closeness;
+                this.x = x;
+                this.z = z;
+            }
+        }
     }
 
     public static void updateArea(ServerLevel level, ChunkAccess chunk) {
@@ -39,6 +39,8 @@
 import net.minecraft.world.ticks.ScheduledTick;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 
 import appeng.api.ids.AETags;
 import appeng.api.movable.BlockEntityMoveStrategies;
@@ -173,6 +175,8 @@ void swap(CachedPlane dst) {
 
             long startTime = System.nanoTime();
 
+            var swappedSections = this.swapFullSections(dst);
+
             for (int x = 0; x < this.x_size; x++) {
                 for (int z = 0; z < this.z_size; z++) {
                     final Column srcCol = this.myColumns[x][z];
@@ -182,6 +186,15 @@ void swap(CachedPlane dst) {
                         var src_y = this.y_offset + y;
                         var dst_y = dst.y_offset + y;
 
+                        if (!swappedSections.isEmpty() && swappedSections.contains(SectionPos.asLong(
+                                SectionPos.blockToSectionCoord(this.x_offset + x),
+                                SectionPos.blockToSectionCoord(src_y),
+                                SectionPos.blockToSectionCoord(this.z_offset + z)))) {
+                            // Skip the rest of the section, it has already been swapped as a whole
+                            y += LevelChunkSection.SECTION_HEIGHT - 1 - SectionPos.sectionRelative(src_y);
+                            continue;
+                        }
+
                         if (srcCol.doNotSkip(src_y) && dstCol.doNotSkip(dst_y)) {
                             var srcSection = srcCol.getSection(src_y);
                             var dstSection = dstCol.getSection(dst_y);
@@ -244,6 +257,84 @@ void swap(CachedPlane dst) {
         }
     }
 
+    /**
+     * Swaps the content of chunk sections that are fully covered by both planes as a whole, instead of block by block.
+     * This is only possible if both planes have the same alignment to the section grid. Sections containing blocks that
+     * need special handling (blacklisted blocks, matrix frames, block entities that could not be moved) are left to the
+     * block by block copy.
+     *
+     * @return The section positions in this plane that have been swapped.
+     */
+    private LongSet swapFullSections(CachedPlane dst) {
+        var swapped = new LongOpenHashSet();
+        if (SectionPos.sectionRelative(this.x_offset) != SectionPos.sectionRelative(dst.x_offset)
+                || SectionPos.sectionRelative(this.y_offset) != SectionPos.sectionRelative(dst.y_offset)
+                || SectionPos.sectionRelative(this.z_offset) != SectionPos.sectionRelative(dst.z_offset)) {
+            return swapped;
+        }
+
+        // Offset between the planes in sections
+        var dsx = SectionPos.blockToSectionCoord(dst.x_offset - this.x_offset);
+        var dsy = SectionPos.blockToSectionCoord(dst.y_offset - this.y_offset);
+        var dsz = SectionPos.blockToSectionCoord(dst.z_offset - this.z_offset);
+
+        // Range of sections fully covered by this plane
+        var minSX = SectionPos.blockToSectionCoord(this.x_offset + LevelChunkSection.SECTION_WIDTH - 1);
+        var minSY = SectionPos.blockToSectionCoord(this.y_offset + LevelChunkSection.SECTION_HEIGHT - 1);
+        var minSZ = SectionPos.blockToSectionCoord(this.z_offset + LevelChunkSection.SECTION_WIDTH - 1);
+        var maxSX = SectionPos.blockToSectionCoord(this.x_offset + this.x_size) - 1;
+        var maxSY = SectionPos.blockToSectionCoord(this.y_offset + this.y_size) - 1;
+        var maxSZ = SectionPos.blockToSectionCoord(this.z_offset + this.z_size) - 1;
+
+        for (var sx = minSX; sx <= maxSX; sx++) {
+            for (var sz = minSZ; sz <= maxSZ; sz++) {
+                var srcChunk = this.level.getChunk(sx, sz);
+                var dstChunk = dst.level.getChunk(sx + dsx, sz + dsz);
+
+                for (var sy = minSY; sy <= maxSY; sy++) {
+                    var srcIndex = srcChunk.getSectionIndexFromSectionY(sy);
+                    var dstIndex = dstChunk.getSectionIndexFromSectionY(sy + dsy);
+                    var srcSection = srcChunk.getSection(srcIndex);
+                    var dstSection = dstChunk.getSection(dstIndex);
+
+                    if (!this.canSwapSection(srcSection, sx, sy, sz)
+                            || !dst.canSwapSection(dstSection, sx + dsx, sy + dsy, sz + dsz)) {
+                        continue;
+                    }
+
+                    // Biomes stay where they are
+                    srcChunk.getSections()[srcIndex] = new LevelChunkSection(dstSection.getStates(),
+                            srcSection.getBiomes());
+                    dstChunk.getSections()[dstIndex] = new LevelChunkSection(srcSection.getStates(),
+                            dstSection.getBiomes());
+                    swapped.add(SectionPos.asLong(sx, sy, sz));
+                }
+            }
+        }
+
+        return swapped;
+    }
+
+    private boolean canSwapSection(LevelChunkSection section, int sx, int sy, int sz) {
+        if (section.getStates().maybeHas(
+                state -> state == this.matrixBlockState || state.is(AETags.SPATIAL_BLACKLIST))) {
+            return false;
+        }
+
+        var minY = SectionPos.sectionToBlockCoord(sy);
+        var maxY = minY + LevelChunkSection.SECTION_HEIGHT - 1;
+        var minX = SectionPos.sectionToBlockCoord(sx) - this.x_offset;
+        var minZ = SectionPos.sectionToBlockCoord(sz) - this.z_offset;
+        for (var x = minX; x < minX + LevelChunkSection.SECTION_WIDTH; x++) {
+            for (var z = minZ; z < minZ + LevelChunkSection.SECTION_WIDTH; z++) {
+                if (this.myColumns[x][z].hasSkipBetween(minY, maxY)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private void markForUpdate(int x, int y, int z) {
         this.updates.add(new BlockPos(x, y, z));
         for (Direction d : Direction.values()) {
@@ -384,6 +475,17 @@ private boolean doNotSkip(int y) {
             return this.skipThese == null || !this.skipThese.contains(y);
         }
 
+        private boolean hasSkipBetween(int minY, int maxY) {
+            if (this.skipThese != null) {
+                for (var y : this.skipThese) {
+                    if (y >= minY && y <= maxY) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
         private void setSkip(int y) {
             if (this.skipThese == null) {
                 this.skipThese = new ArrayList<>();
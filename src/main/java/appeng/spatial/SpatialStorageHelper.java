@@ -19,12 +19,15 @@
 package appeng.spatial;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.function.Function;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.TicketType;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.ChunkPos;
@@ -47,6 +50,13 @@
 
 public class SpatialStorageHelper {
 
+    /**
+     * Keeps chunks loaded that are about to be affected by a spatial transition. The ticket is refreshed while the
+     * transition is waiting for the chunks, and expires by itself afterwards.
+     */
+    private static final TicketType<ChunkPos> TRANSITION_TICKET = TicketType.create("ae2_spatial_transition",
+            Comparator.comparingLong(ChunkPos::toLong), 100);
+
     private static SpatialStorageHelper instance;
 
     public static SpatialStorageHelper getInstance() {
@@ -221,6 +231,31 @@ public void swapRegions(ServerLevel srcLevel, int srcX, int srcY, int srcZ,
                 new TriggerUpdates(dstLevel));
     }
 
+    /**
+     * Requests that the chunks (including their entities) intersecting the given area are loaded in the background, so
+     * that a following {@link #swapRegions} does not have to load them synchronously. Chunks that are already loaded
+     * are kept loaded, while at most {@link ChunkRequest#getMaxLoading()} missing chunks are requested per call.
+     */
+    public void requestChunks(ServerLevel level, BlockPos min, BlockPos max, ChunkRequest request) {
+        var chunkSource = level.getChunkSource();
+        for (var cx = SectionPos.blockToSectionCoord(min.getX()); cx <= SectionPos.blockToSectionCoord(max.getX());
+                cx++) {
+            for (var cz = SectionPos.blockToSectionCoord(min.getZ()); cz <= SectionPos
+                    .blockToSectionCoord(max.getZ()); cz++) {
+                var chunkPos = new ChunkPos(cx, cz);
+                request.total++;
+                if (chunkSource.getChunkNow(cx, cz) != null && level.areEntitiesLoaded(chunkPos.toLong())) {
+                    request.loaded++;
+                } else if (request.loading < request.maxLoading) {
+                    request.loading++;
+                } else {
+                    continue;
+                }
+                chunkSource.addRegionTicket(TRANSITION_TICKET, chunkPos, 0, chunkPos);
+            }
+        }
+    }
+
     // Force-loads entity-chunks that are not currently loaded and returns the chunks
     // that we loaded explicitly (to allow unloading them)
     private LongSet loadEntityChunksSynchronously(ServerLevel level, AABB box) {
@@ -297,4 +332,33 @@ private static class TelDestination {
         }
     }
 
+    /**
+     * Collects the state of the chunks affected by a transition over one or more calls to {@link #requestChunks}.
+     */
+    public static class ChunkRequest {
+        private final int maxLoading;
+        private int loading;
+        private int loaded;
+        private int total;
+
+        public ChunkRequest(int maxLoading) {
+            this.maxLoading = maxLoading;
+        }
+
+        public int getMaxLoading() {
+            return maxLoading;
+        }
+
+        public int getLoaded() {
+            return loaded;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public boolean isDone() {
+            return loaded == total;
+        }
+    }
 }
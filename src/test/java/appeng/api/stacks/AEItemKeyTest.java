@@ -173,6 +173,31 @@ void testIsDamaged() {
         assertTrue(AEItemKey.of(stack).isDamaged());
     }
 
+    @Test
+    void testUntaggedKeysAreCanonical() {
+        assertThat(AEItemKey.of(new ItemStack(Items.DIAMOND))).isSameAs(AEItemKey.of(Items.DIAMOND));
+        assertThat(AEItemKey.of(Items.DIAMOND, null)).isSameAs(AEItemKey.of(Items.DIAMOND));
+
+        var enchanted = new ItemStack(Items.DIAMOND_SWORD);
+        enchanted.enchant(Enchantments.SHARPNESS, 1);
+        var tagged = AEItemKey.of(enchanted);
+        assertThat(tagged).isNotSameAs(AEItemKey.of(Items.DIAMOND_SWORD));
+        assertThat(tagged.dropSecondary()).isSameAs(AEItemKey.of(Items.DIAMOND_SWORD));
+    }
+
+    @Test
+    void testMatches() {
+        var plain = AEItemKey.of(Items.DIAMOND_SWORD);
+        assertTrue(plain.matches(new ItemStack(Items.DIAMOND_SWORD)));
+        assertFalse(plain.matches(new ItemStack(Items.IRON_SWORD)));
+        assertFalse(plain.matches(ItemStack.EMPTY));
+
+        var enchanted = new ItemStack(Items.DIAMOND_SWORD);
+        enchanted.enchant(Enchantments.SHARPNESS, 1);
+        assertFalse(plain.matches(enchanted));
+        assertTrue(AEItemKey.of(enchanted).matches(enchanted.copy()));
+    }
+
     /**
      * Regression test for {@link FuzzySearch#COMPARATOR} wrongly using AEKey identity comparison as a last resort.
      */
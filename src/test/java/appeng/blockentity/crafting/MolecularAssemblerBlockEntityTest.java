@@ -0,0 +1,147 @@
+package appeng.blockentity.crafting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
+
+import appeng.api.networking.IGridNode;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.core.AEConfig;
+import appeng.core.definitions.AEBlockEntities;
+import appeng.core.definitions.AEBlocks;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class MolecularAssemblerBlockEntityTest {
+    private final AEItemKey planks = AEItemKey.of(Items.OAK_PLANKS);
+    private final IMolecularAssemblerSupportedPattern pattern = createPattern(Items.STICK);
+    private final MolecularAssemblerBlockEntity be = createAssembler();
+
+    @Test
+    void testIdenticalJobsFromTheSameSideAreQueued() {
+        var depth = AEConfig.instance().getMolecularAssemblerPipelineDepth();
+
+        assertThat(push(be, pattern, Direction.NORTH)).isTrue();
+        assertThat(push(be, createPattern(Items.BOWL), Direction.NORTH)).isFalse();
+        assertThat(push(be, pattern, Direction.SOUTH)).isFalse();
+
+        for (int i = 0; i < depth; i++) {
+            assertThat(push(be, pattern, Direction.NORTH)).isTrue();
+        }
+        assertThat(push(be, pattern, Direction.NORTH)).isFalse();
+    }
+
+    @Test
+    void testQueuedJobsAreDropped() {
+        push(be, pattern, Direction.NORTH);
+        push(be, pattern, Direction.NORTH);
+
+        assertThat(getDrops(be)).containsExactly(Items.OAK_PLANKS, Items.OAK_PLANKS);
+
+        be.clearContent();
+        assertThat(getDrops(be)).isEmpty();
+    }
+
+    @Test
+    void testQueuedJobsAreSavedAndLoaded() {
+        push(be, pattern, Direction.NORTH);
+        push(be, pattern, Direction.NORTH);
+
+        var tag = new CompoundTag();
+        be.saveAdditional(tag);
+        assertThat(tag.getList("queuedJobs", Tag.TAG_LIST)).hasSize(1);
+
+        var loaded = createAssembler();
+        loaded.loadTag(tag);
+        assertThat(getDrops(loaded)).containsExactly(Items.OAK_PLANKS, Items.OAK_PLANKS);
+
+        // The plan is still pending and the queue is not accepting jobs until it has been restored
+        assertThat(push(loaded, pattern, Direction.NORTH)).isFalse();
+    }
+
+    @Test
+    void testLeftoversAreEjectedBeforeQueuedJobStarts() {
+        push(be, pattern, Direction.NORTH);
+        push(be, pattern, Direction.NORTH);
+        var inv = be.getInternalInventory();
+        inv.setItemDirect(0, new ItemStack(Items.BUCKET));
+        inv.setItemDirect(1, new ItemStack(Items.BOWL));
+
+        // Without a level the saved plan can't be restored, so everything in the grid is ejected
+        var tag = new CompoundTag();
+        be.saveAdditional(tag);
+        var loaded = createAssembler();
+        loaded.loadTag(tag);
+        loaded.setLevel(mock(Level.class));
+        inv = loaded.getInternalInventory();
+        var node = mock(IGridNode.class);
+
+        loaded.tickingRequest(node, 1);
+        assertThat(inv.getStackInSlot(9).getItem()).isEqualTo(Items.BUCKET);
+        assertThat(inv.getStackInSlot(1).getItem()).isEqualTo(Items.BOWL);
+
+        // The output slot is blocked, so neither the leftovers nor the queued job move
+        loaded.tickingRequest(node, 1);
+        assertThat(inv.getStackInSlot(9).getItem()).isEqualTo(Items.BUCKET);
+        assertThat(inv.getStackInSlot(0).isEmpty()).isTrue();
+        assertThat(inv.getStackInSlot(1).getItem()).isEqualTo(Items.BOWL);
+
+        // Once the output is taken, the last leftover is ejected and the queued job can start
+        inv.setItemDirect(9, ItemStack.EMPTY);
+        loaded.tickingRequest(node, 1);
+        assertThat(inv.getStackInSlot(9).getItem()).isEqualTo(Items.BOWL);
+        assertThat(inv.getStackInSlot(0).getItem()).isEqualTo(Items.OAK_PLANKS);
+    }
+
+    private boolean push(MolecularAssemblerBlockEntity assembler, IMolecularAssemblerSupportedPattern pattern,
+            Direction side) {
+        var table = new KeyCounter[] { new KeyCounter() };
+        table[0].add(planks, 1);
+        return assembler.pushPattern(pattern, table, side);
+    }
+
+    /**
+     * Creates a pattern that takes a single plank from the first input into the first crafting grid slot.
+     */
+    private IMolecularAssemblerSupportedPattern createPattern(Item output) {
+        var result = mock(IMolecularAssemblerSupportedPattern.class);
+        when(result.getDefinition()).thenReturn(AEItemKey.of(output));
+        when(result.assemble(any(), any())).thenReturn(new ItemStack(output));
+        doAnswer(invocation -> {
+            KeyCounter[] table = invocation.getArgument(0);
+            IMolecularAssemblerSupportedPattern.CraftingGridAccessor accessor = invocation.getArgument(1);
+            table[0].remove(planks, 1);
+            accessor.set(0, planks.toStack());
+            return null;
+        }).when(result).fillCraftingGrid(any(), any());
+        return result;
+    }
+
+    private static MolecularAssemblerBlockEntity createAssembler() {
+        return new MolecularAssemblerBlockEntity(AEBlockEntities.MOLECULAR_ASSEMBLER, BlockPos.ZERO,
+                AEBlocks.MOLECULAR_ASSEMBLER.block().defaultBlockState());
+    }
+
+    private static List<Item> getDrops(MolecularAssemblerBlockEntity assembler) {
+        var drops = new ArrayList<ItemStack>();
+        assembler.addAdditionalDrops(null, BlockPos.ZERO, drops);
+        return drops.stream().map(ItemStack::getItem).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package appeng.client.gui.me.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+
+import appeng.api.config.SortDir;
+import appeng.api.config.SortOrder;
+import appeng.api.config.TypeFilter;
+import appeng.api.config.ViewItems;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.client.gui.widgets.ISortSource;
+import appeng.menu.me.common.GridInventoryEntry;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class RepoTest {
+    /**
+     * Applies random updates to the repo, and checks that the incrementally maintained view is identical to a view that
+     * is rebuilt from scratch.
+     */
+    @ParameterizedTest
+    @EnumSource(SortOrder.class)
+    void testIncrementalUpdatesMatchFullRebuild(SortOrder sortOrder) {
+        var sortSource = new ISortSource() {
+            @Override
+            public SortOrder getSortBy() {
+                return sortOrder;
+            }
+
+            @Override
+            public SortDir getSortDir() {
+                return SortDir.DESCENDING;
+            }
+
+            @Override
+            public ViewItems getSortDisplay() {
+                return ViewItems.STORED;
+            }
+
+            @Override
+            public TypeFilter getTypeFilter() {
+                return TypeFilter.ALL;
+            }
+        };
+        var repo = new Repo(() -> 0, sortSource);
+
+        var keys = new ArrayList<AEKey>();
+        for (var item : BuiltInRegistries.ITEM) {
+            keys.add(AEItemKey.of(item));
+            if (keys.size() >= 100) {
+                break;
+            }
+        }
+
+        var random = new Random(1234);
+        repo.handleUpdate(true, List.of());
+        for (int round = 0; round < 50; round++) {
+            var updates = new ArrayList<GridInventoryEntry>();
+            for (int i = 0; i < 20; i++) {
+                var serial = random.nextInt(keys.size());
+                var amount = random.nextInt(4) == 0 ? 0 : random.nextInt(10);
+                var craftable = random.nextInt(5) == 0;
+                updates.add(new GridInventoryEntry(serial, keys.get(serial), amount, 0, craftable));
+            }
+            repo.handleUpdate(false, updates);
+
+            var incrementalView = getView(repo);
+            repo.updateView();
+            assertThat(incrementalView).containsExactlyElementsOf(getView(repo));
+        }
+    }
+
+    private static List<Long> getView(Repo repo) {
+        var result = new ArrayList<Long>(repo.size());
+        for (int i = 0; i < repo.size(); i++) {
+            result.add(repo.get(i).getSerial());
+        }
+        return result;
+    }
+}
@@ -4,6 +4,7 @@
 
 import java.util.Set;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -41,6 +42,13 @@ public abstract class AbstractGridNodeTest {
     @BeforeEach
     public void setupMocks() {
         platform.when(Platform::isServer).thenReturn(true);
+        NodeStateNotifications.clear();
+    }
+
+    @AfterEach
+    public void clearNotifications() {
+        // Nodes of this test would otherwise stay queued and never be notified again in later tests
+        NodeStateNotifications.clear();
     }
 
     protected GridNode makeNode(GridFlags... flags) {
@@ -97,5 +105,6 @@ protected final void runTick(IGrid grid) {
         internalGrid.onLevelStartTick(level);
         internalGrid.onLevelEndTick(level);
         internalGrid.onServerEndTick();
+        NodeStateNotifications.dispatch();
     }
 }
@@ -0,0 +1,104 @@
+package appeng.me;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+
+import appeng.api.networking.IGridNodeListener.State;
+
+class NodeStateNotificationsTest extends AbstractGridNodeTest {
+
+    @Test
+    void testRepeatedChangesAreCollapsed() {
+        var node = makeIdleNode();
+
+        node.notifyStatusChange(State.POWER);
+        node.notifyStatusChange(State.CHANNEL);
+        node.notifyStatusChange(State.POWER);
+        verify(listener, never()).onStateChanged(any(), any(), any());
+
+        NodeStateNotifications.dispatch();
+        verify(listener, times(1)).onStateChanged(owner, node, State.POWER);
+        verify(listener, times(1)).onStateChanged(owner, node, State.CHANNEL);
+
+        NodeStateNotifications.dispatch();
+        verify(listener, times(2)).onStateChanged(any(), any(), any());
+    }
+
+    @Test
+    void testGridBootIsNotDeferred() {
+        var node = makeIdleNode();
+
+        node.notifyStatusChange(State.GRID_BOOT);
+        verify(listener).onStateChanged(owner, node, State.GRID_BOOT);
+    }
+
+    @Test
+    void testNodesAreNotifiedByChunk() {
+        var far = new InWorldGridNode(level, new BlockPos(80, 64, 0), owner, listener, Set.of());
+        var near = new InWorldGridNode(level, new BlockPos(0, 64, 0), owner, listener, Set.of());
+        NodeStateNotifications.dispatch();
+        reset(listener);
+
+        far.notifyStatusChange(State.CHANNEL);
+        near.notifyStatusChange(State.CHANNEL);
+        near.notifyStatusChange(State.POWER);
+        NodeStateNotifications.dispatch();
+
+        var inOrder = inOrder(listener);
+        inOrder.verify(listener).onStateChanged(owner, near, State.POWER);
+        inOrder.verify(listener).onStateChanged(owner, near, State.CHANNEL);
+        inOrder.verify(listener).onStateChanged(owner, far, State.CHANNEL);
+    }
+
+    @Test
+    void testDestroyedNodesAreSkipped() {
+        var node = makeIdleNode();
+
+        node.notifyStatusChange(State.POWER);
+        node.destroy();
+        reset(listener);
+
+        NodeStateNotifications.dispatch();
+        verify(listener, never()).onStateChanged(eq(owner), eq(node), any());
+    }
+
+    @Test
+    void testRemainingNodesStayQueuedIfListenerFails() {
+        var failing = makeIdleNode();
+        var other = makeIdleNode();
+        doThrow(new IllegalStateException("failed")).when(listener).onStateChanged(owner, failing, State.POWER);
+
+        failing.notifyStatusChange(State.POWER);
+        other.notifyStatusChange(State.POWER);
+        assertThrows(IllegalStateException.class, NodeStateNotifications::dispatch);
+        verify(listener, never()).onStateChanged(owner, other, State.POWER);
+
+        reset(listener);
+        NodeStateNotifications.dispatch();
+        verify(listener).onStateChanged(owner, other, State.POWER);
+        verify(listener, never()).onStateChanged(owner, failing, State.POWER);
+    }
+
+    /**
+     * Creates a node and delivers the notifications caused by creating it.
+     */
+    private GridNode makeIdleNode() {
+        var node = makeReadyNode();
+        NodeStateNotifications.dispatch();
+        reset(listener);
+        return node;
+    }
+}
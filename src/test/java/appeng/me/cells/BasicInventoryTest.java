@@ -134,6 +134,103 @@ void testVoidUpgrade() {
         assertThat(cell.insert(rejected, Long.MAX_VALUE, Actionable.MODULATE, SRC)).isZero();
     }
 
+    /**
+     * Amount-only changes are patched into the persisted amounts, while adding or removing keys rewrites the key list.
+     * Both need to survive reloading the cell from its stack.
+     */
+    @Test
+    void testIncrementalPersistence() {
+        var item = AEItems.ITEM_CELL_1K.asItem();
+        var stack = new ItemStack(item);
+        var cell = StorageCells.getCellInventory(stack, null);
+        Objects.requireNonNull(cell);
+
+        var keys = generateDifferentKeys(3);
+        for (var key : keys) {
+            assertThat(cell.insert(key, 10, Actionable.MODULATE, SRC)).isEqualTo(10);
+        }
+        assertThat(cell.insert(keys[1], 5, Actionable.MODULATE, SRC)).isEqualTo(5);
+        assertThat(cell.extract(keys[2], 3, Actionable.MODULATE, SRC)).isEqualTo(3);
+        assertThat(cell.extract(keys[0], 10, Actionable.MODULATE, SRC)).isEqualTo(10);
+
+        var reloaded = StorageCells.getCellInventory(stack, null);
+        Objects.requireNonNull(reloaded);
+        var available = reloaded.getAvailableStacks();
+        assertThat(available.get(keys[0])).isZero();
+        assertThat(available.get(keys[1])).isEqualTo(15);
+        assertThat(available.get(keys[2])).isEqualTo(7);
+        assertThat(available.size()).isEqualTo(2);
+
+        // Change only amounts of the reloaded cell, and reload it again
+        assertThat(reloaded.extract(keys[1], 1, Actionable.MODULATE, SRC)).isEqualTo(1);
+        assertThat(reloaded.insert(keys[2], 1, Actionable.MODULATE, SRC)).isEqualTo(1);
+        var available2 = Objects.requireNonNull(StorageCells.getCellInventory(stack, null)).getAvailableStacks();
+        assertThat(available2.get(keys[1])).isEqualTo(14);
+        assertThat(available2.get(keys[2])).isEqualTo(8);
+        assertThat(((BasicCellInventory) reloaded).getStoredItemCount()).isEqualTo(22);
+    }
+
+    /**
+     * If another inventory for the same stack rewrote the key list, amounts must not be patched into the positions of
+     * the key list this inventory last saw.
+     */
+    @Test
+    void testIncrementalPersistenceAfterForeignKeyRewrite() {
+        var stack = new ItemStack(AEItems.ITEM_CELL_1K.asItem());
+        var keys = generateDifferentKeys(3);
+        var first = Objects.requireNonNull(StorageCells.getCellInventory(stack, null));
+        first.insert(keys[0], 10, Actionable.MODULATE, SRC);
+        first.insert(keys[1], 10, Actionable.MODULATE, SRC);
+
+        // Replace one key with another through a second inventory, keeping the number of keys the same
+        var second = Objects.requireNonNull(StorageCells.getCellInventory(stack, null));
+        second.extract(keys[0], 10, Actionable.MODULATE, SRC);
+        second.insert(keys[2], 10, Actionable.MODULATE, SRC);
+
+        // An amount-only change of the first inventory now has to rewrite the whole list
+        first.insert(keys[1], 1, Actionable.MODULATE, SRC);
+
+        var available = Objects.requireNonNull(StorageCells.getCellInventory(stack, null)).getAvailableStacks();
+        assertThat(available.get(keys[0])).isEqualTo(10);
+        assertThat(available.get(keys[1])).isEqualTo(11);
+        assertThat(available.get(keys[2])).isZero();
+    }
+
+    /**
+     * Key lists built in the background must only be used while the cell still stores the keys they were built from.
+     */
+    @Test
+    void testKeyListSnapshot() {
+        var stack = new ItemStack(AEItems.ITEM_CELL_1K.asItem());
+        var keys = generateDifferentKeys(3);
+        var cell = (BasicCellInventory) Objects.requireNonNull(StorageCells.getCellInventory(stack, () -> {
+        }));
+        cell.insert(keys[0], 10, Actionable.MODULATE, SRC);
+        cell.insert(keys[1], 10, Actionable.MODULATE, SRC);
+        cell.snapshotKeyList();
+        cell.awaitKeyListSnapshot();
+
+        // Amounts can still change after the snapshot was taken
+        cell.insert(keys[0], 5, Actionable.MODULATE, SRC);
+        cell.persist();
+        var available = Objects.requireNonNull(StorageCells.getCellInventory(stack, null)).getAvailableStacks();
+        assertThat(available.get(keys[0])).isEqualTo(15);
+        assertThat(available.get(keys[1])).isEqualTo(10);
+
+        cell.insert(keys[2], 10, Actionable.MODULATE, SRC);
+        cell.snapshotKeyList();
+        cell.awaitKeyListSnapshot();
+
+        // Removing a key makes the snapshot outdated
+        cell.extract(keys[1], 10, Actionable.MODULATE, SRC);
+        cell.persist();
+        available = Objects.requireNonNull(StorageCells.getCellInventory(stack, null)).getAvailableStacks();
+        assertThat(available.get(keys[0])).isEqualTo(15);
+        assertThat(available.get(keys[1])).isZero();
+        assertThat(available.get(keys[2])).isEqualTo(10);
+        assertThat(available.size()).isEqualTo(2);
+    }
+
     private static AEItemKey[] generateDifferentKeys(int count) {
         var out = new AEItemKey[count];
         for (int i = 0; i < count; ++i) {
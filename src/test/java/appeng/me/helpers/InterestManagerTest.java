@@ -0,0 +1,95 @@
+package appeng.me.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class InterestManagerTest {
+    private final AEKey stone = AEItemKey.of(Items.STONE);
+    private final AEKey dirt = AEItemKey.of(Items.DIRT);
+    private final InterestManager<StackWatcher<String>> interestManager = new InterestManager<>();
+
+    @Test
+    void testWatchersAreNotifiedForTheirKeys() {
+        var a = new StackWatcher<>(interestManager, "a");
+        var b = new StackWatcher<>(interestManager, "b");
+        a.addAll(Set.of(stone, dirt));
+        b.add(stone);
+
+        assertThat(notified(stone)).containsExactlyInAnyOrder("a", "b");
+        assertThat(notified(dirt)).containsExactly("a");
+
+        a.remove(stone);
+        assertThat(notified(stone)).containsExactly("b");
+    }
+
+    @Test
+    void testDestroyRemovesAllInterestsAndReusesId() {
+        var a = new StackWatcher<>(interestManager, "a");
+        a.addAll(Set.of(stone, dirt));
+        a.setWatchAll(true);
+        a.destroy();
+
+        assertThat(interestManager.isEmpty()).isTrue();
+        assertThat(notified(stone)).isEmpty();
+
+        // Destroyed watchers can no longer be used
+        a.add(stone);
+        assertThat(notified(stone)).isEmpty();
+
+        var b = new StackWatcher<>(interestManager, "b");
+        assertThat(b.getId()).isEqualTo(a.getId());
+        b.add(stone);
+        assertThat(notified(stone)).containsExactly("b");
+    }
+
+    @Test
+    void testRemovingMovesOtherWatchersIntoGap() {
+        var a = new StackWatcher<>(interestManager, "a");
+        var b = new StackWatcher<>(interestManager, "b");
+        var c = new StackWatcher<>(interestManager, "c");
+        a.add(stone);
+        b.add(stone);
+        c.add(stone);
+        c.add(dirt);
+
+        a.remove(stone);
+        assertThat(notified(stone)).containsExactlyInAnyOrder("b", "c");
+
+        // c was moved into the slot of a and must still be found there
+        c.remove(stone);
+        assertThat(notified(stone)).containsExactly("b");
+        assertThat(notified(dirt)).containsExactly("c");
+
+        b.remove(stone);
+        c.remove(dirt);
+        assertThat(interestManager.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testWatchAllIsNotifiedForAnyKey() {
+        var a = new StackWatcher<>(interestManager, "a");
+        a.setWatchAll(true);
+        assertThat(notified(dirt)).containsExactly("a");
+
+        a.reset();
+        assertThat(notified(dirt)).isEmpty();
+    }
+
+    private List<String> notified(AEKey what) {
+        var result = new ArrayList<String>();
+        interestManager.forEachWatcher(what, watcher -> result.add(watcher.getHost()));
+        return result;
+    }
+}
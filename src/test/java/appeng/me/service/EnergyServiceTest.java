@@ -2,6 +2,8 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.assertj.core.data.Offset;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -10,9 +12,11 @@
 import net.minecraft.nbt.CompoundTag;
 
 import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
 import appeng.me.AbstractGridNodeTest;
 import appeng.me.GridConnection;
 import appeng.me.ManagedGridNode;
+import appeng.me.energy.IEnergyOverlayGridConnection;
 
 class EnergyServiceTest extends AbstractGridNodeTest {
     public static final Offset<Double> TOLERANCE = Offset.offset(0.1);
@@ -89,6 +93,180 @@ void testStoredEnergyIsRemovedOnNbtReload() {
         assertThat(energyService.getStoredPower()).isCloseTo(40, TOLERANCE);
     }
 
+    @Test
+    void testExtractionsAreGrantedFromLedgerAndSettledAtEndOfTick() {
+        var mgn1 = createAndInitNode();
+        var mgn2 = createAndInitNode();
+        GridConnection.create(mgn1.getNode(), mgn2.getNode(), null);
+
+        var energyService = (EnergyService) mgn1.getGrid().getEnergyService();
+        energyService.injectPower(40, Actionable.MODULATE);
+
+        // Small extractions are granted from the budget, but are already accounted for
+        assertThat(energyService.extractAEPower(5, Actionable.SIMULATE, PowerMultiplier.ONE)).isCloseTo(5, TOLERANCE);
+        assertThat(energyService.extractAEPower(5, Actionable.MODULATE, PowerMultiplier.ONE)).isCloseTo(5, TOLERANCE);
+        energyService.refreshPower();
+        assertThat(energyService.getStoredPower()).isCloseTo(35, TOLERANCE);
+
+        // Extractions exceeding the budget go straight to the providers
+        assertThat(energyService.extractAEPower(30, Actionable.MODULATE, PowerMultiplier.ONE))
+                .isCloseTo(30, TOLERANCE);
+        energyService.refreshPower();
+        assertThat(energyService.getStoredPower()).isCloseTo(5, TOLERANCE);
+
+        // Nothing more than what is stored can be extracted
+        assertThat(energyService.extractAEPower(10, Actionable.MODULATE, PowerMultiplier.ONE))
+                .isCloseTo(5, TOLERANCE);
+        energyService.refreshPower();
+        assertThat(energyService.getStoredPower()).isCloseTo(0, TOLERANCE);
+    }
+
+    @Test
+    void testInjectionPaysOffLedger() {
+        var mgn1 = createAndInitNode();
+        var energyService = (EnergyService) mgn1.getGrid().getEnergyService();
+        energyService.injectPower(20, Actionable.MODULATE);
+
+        assertThat(energyService.extractAEPower(5, Actionable.MODULATE, PowerMultiplier.ONE)).isCloseTo(5, TOLERANCE);
+        // The injected energy first pays off the 5 AE that are still owed, the rest is stored
+        assertThat(energyService.injectPower(10, Actionable.MODULATE)).isCloseTo(0, TOLERANCE);
+        energyService.refreshPower();
+        assertThat(energyService.getStoredPower()).isCloseTo(25, TOLERANCE);
+    }
+
+    @Test
+    void testLedgerSettledFromConnectedGridIsOnlyCountedOnce() {
+        var mgnB = new ManagedGridNode(owner, listener).setIdlePowerUsage(0);
+        mgnB.create(level, null);
+        var serviceB = (EnergyService) mgnB.getGrid().getEnergyService();
+        var mgnA = new ManagedGridNode(owner, listener)
+                .setIdlePowerUsage(0)
+                .addService(IEnergyOverlayGridConnection.class, () -> List.of(serviceB));
+        mgnA.create(level, null);
+        var serviceA = (EnergyService) mgnA.getGrid().getEnergyService();
+        serviceA.injectProviderPower(20, Actionable.MODULATE);
+        serviceB.injectProviderPower(20, Actionable.MODULATE);
+
+        // Granted from the ledger, but our own providers are emptied before it is settled
+        assertThat(serviceA.extractAEPower(5, Actionable.MODULATE, PowerMultiplier.ONE)).isCloseTo(5, TOLERANCE);
+        serviceA.extractProviderPower(20, Actionable.MODULATE);
+        runTick(serviceA.grid);
+        runTick(serviceB.grid);
+
+        // The connected grid paid for the ledger, but the drain was only counted by the grid that extracted it
+        serviceB.refreshPower();
+        assertThat(serviceB.getStoredPower()).isCloseTo(15, TOLERANCE);
+        assertThat(serviceB.getAvgPowerUsage()).isZero();
+        assertThat(serviceA.getAvgPowerUsage()).isCloseTo(25 / 40.0, TOLERANCE);
+    }
+
+    @Test
+    void testPowerRestoreDelayDoublesWhenPowerFlickers() {
+        var energyService = createDrainingGrid();
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 5)).isEqualTo(1);
+
+        // Losing power shortly after it was restored doubles the delay
+        losePower(energyService);
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 1000)).isGreaterThan(60).isLessThanOrEqualTo(63);
+
+        losePower(energyService);
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 1000)).isGreaterThan(120).isLessThanOrEqualTo(123);
+    }
+
+    @Test
+    void testPowerRestoreDelayResetsAfterFlickerWindow() {
+        var energyService = createDrainingGrid();
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 5)).isEqualTo(1);
+        losePower(energyService);
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 1000)).isGreaterThan(60).isLessThanOrEqualTo(63);
+
+        // Staying powered for longer than the flicker window resets the delay to its minimum
+        runTicksWithPower(energyService, 200);
+        losePower(energyService);
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 1000)).isGreaterThan(30).isLessThanOrEqualTo(33);
+    }
+
+    @Test
+    void testPowerIsOnlyRestoredWithEnoughStoredEnergy() {
+        var energyService = createDrainingGrid();
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 5)).isEqualTo(1);
+        runTicksWithPower(energyService, 200);
+        losePower(energyService);
+
+        // The generation matches the drain, but 5 AE are less than the required buffer of 12.5 AE
+        energyService.injectPower(5, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 100)).isEqualTo(-1);
+
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 5)).isEqualTo(1);
+    }
+
+    @Test
+    void testBrownOutIsEnteredAndLeftWithHysteresis() {
+        var energyService = createDrainingGrid();
+        energyService.injectPower(25, Actionable.MODULATE);
+        assertThat(ticksUntilPowered(energyService, 5)).isEqualTo(1);
+        assertThat(energyService.isBrownOut()).isFalse();
+
+        // With 25 AE of capacity, a brown-out starts below 6.25 AE and ends at 12.5 AE
+        energyService.extractAEPower(20, Actionable.MODULATE, PowerMultiplier.ONE);
+        runTicksWithPower(energyService, 1);
+        assertThat(energyService.isNetworkPowered()).isTrue();
+        assertThat(energyService.isBrownOut()).isTrue();
+
+        energyService.injectPower(5, Actionable.MODULATE);
+        runTicksWithPower(energyService, 1);
+        assertThat(energyService.isBrownOut()).isTrue();
+
+        energyService.injectPower(25, Actionable.MODULATE);
+        runTicksWithPower(energyService, 1);
+        assertThat(energyService.isBrownOut()).isFalse();
+    }
+
+    /**
+     * Creates a grid with a single node that drains 1 AE/t and can store 25 AE.
+     */
+    private EnergyService createDrainingGrid() {
+        var mgn = createAndInitNode();
+        mgn.setIdlePowerUsage(1);
+        return (EnergyService) mgn.getGrid().getEnergyService();
+    }
+
+    /**
+     * Ticks the grid while generating exactly its idle drain.
+     *
+     * @return The number of ticks until the grid was powered, or -1 if it wasn't powered within the limit.
+     */
+    private int ticksUntilPowered(EnergyService energyService, int limit) {
+        for (int i = 1; i <= limit; i++) {
+            runTicksWithPower(energyService, 1);
+            if (energyService.isNetworkPowered()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void runTicksWithPower(EnergyService energyService, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            energyService.injectPower(1, Actionable.MODULATE);
+            runTick(energyService.grid);
+        }
+    }
+
+    private void losePower(EnergyService energyService) {
+        energyService.extractAEPower(1000, Actionable.MODULATE, PowerMultiplier.ONE);
+        runTick(energyService.grid);
+        assertThat(energyService.isNetworkPowered()).isFalse();
+    }
+
     @NotNull
     private ManagedGridNode createAndInitNode() {
         return createAndInitNode(null);
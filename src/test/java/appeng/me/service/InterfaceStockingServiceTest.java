@@ -0,0 +1,199 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.energy.IEnergyService;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.ConfigInventory;
+
+@BootstrapMinecraft
+class InterfaceStockingServiceTest {
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+
+    private final IGrid grid = mock(IGrid.class);
+    private final IEnergyService energy = mock(IEnergyService.class);
+    private final NetworkStorage network = new NetworkStorage();
+    private final InterfaceStockingService service = new InterfaceStockingService(grid);
+    private double storedPower = 1000;
+
+    @BeforeEach
+    void setUp() {
+        var storageService = mock(IStorageService.class);
+        when(storageService.getInventory()).thenReturn(network);
+        when(grid.getStorageService()).thenReturn(storageService);
+        when(grid.getEnergyService()).thenReturn(energy);
+        when(energy.extractAEPower(anyDouble(), any(), any())).thenAnswer(invocation -> {
+            double amount = Math.min(invocation.getArgument(0), storedPower);
+            if (invocation.getArgument(1) == Actionable.MODULATE) {
+                storedPower -= amount;
+            }
+            return amount;
+        });
+    }
+
+    @Test
+    void testSurplusIsNettedAgainstDeficit() {
+        var full = new TestInterface(grid, 0);
+        var empty = new TestInterface(grid, 0);
+        full.storage.setStack(0, new GenericStack(stone, 10));
+
+        full.submit(-10);
+        empty.submit(6);
+        service.onServerEndTick();
+
+        assertThat(full.amount()).isZero();
+        assertThat(empty.amount()).isEqualTo(6);
+        assertThat(full.changes).isEqualTo(1);
+        assertThat(empty.changes).isEqualTo(1);
+        // Only the remainder goes through network storage
+        assertThat(network.stored.get(stone)).isEqualTo(4);
+        assertThat(network.extractions).isEmpty();
+        assertThat(storedPower).isEqualTo(990);
+    }
+
+    @Test
+    void testNettingIsLimitedByPower() {
+        var full = new TestInterface(grid, 0);
+        var empty = new TestInterface(grid, 0);
+        full.storage.setStack(0, new GenericStack(stone, 10));
+        storedPower = 4;
+
+        full.submit(-10);
+        empty.submit(10);
+        service.onServerEndTick();
+
+        assertThat(full.amount()).isEqualTo(6);
+        assertThat(empty.amount()).isEqualTo(4);
+        assertThat(network.stored.get(stone)).isZero();
+        assertThat(storedPower).isZero();
+    }
+
+    @Test
+    void testDeficitIsExtractedOncePerPriority() {
+        var high1 = new TestInterface(grid, 5);
+        var high2 = new TestInterface(grid, 5);
+        var low = new TestInterface(grid, 0);
+        network.stored.add(stone, 10);
+
+        low.submit(4);
+        high1.submit(4);
+        high2.submit(4);
+        service.onServerEndTick();
+
+        assertThat(high1.amount()).isEqualTo(4);
+        assertThat(high2.amount()).isEqualTo(4);
+        assertThat(low.amount()).isEqualTo(2);
+        assertThat(network.extractions).containsExactly(
+                new Extraction(8, high1.source),
+                new Extraction(2, low.source));
+    }
+
+    @Test
+    void testPartialExtraction() {
+        var target = new TestInterface(grid, 0);
+        network.stored.add(stone, 3);
+
+        target.submit(10);
+        service.onServerEndTick();
+
+        assertThat(target.amount()).isEqualTo(3);
+        assertThat(target.changes).isEqualTo(1);
+        assertThat(network.stored.get(stone)).isZero();
+    }
+
+    @Test
+    void testRequestsOfInterfacesThatLeftTheGridAreIgnored() {
+        var otherGrid = new TestInterface(mock(IGrid.class), 0);
+        var inactive = new TestInterface(grid, 0);
+        when(inactive.node.isActive()).thenReturn(false);
+        network.stored.add(stone, 10);
+
+        otherGrid.submit(5);
+        inactive.submit(5);
+        service.onServerEndTick();
+
+        assertThat(otherGrid.amount()).isZero();
+        assertThat(inactive.amount()).isZero();
+        assertThat(otherGrid.changes).isZero();
+        assertThat(inactive.changes).isZero();
+        assertThat(network.stored.get(stone)).isEqualTo(10);
+        assertThat(storedPower).isEqualTo(1000);
+    }
+
+    private class TestInterface {
+        private final IGridNode node = mock(IGridNode.class);
+        private final IActionSource source = IActionSource.ofMachine(() -> node);
+        private final int priority;
+        private final ConfigInventory storage = ConfigInventory.storage(1, null);
+        private int changes;
+
+        TestInterface(IGrid grid, int priority) {
+            this.priority = priority;
+            when(node.getGrid()).thenReturn(grid);
+            when(node.isActive()).thenReturn(true);
+        }
+
+        void submit(long amount) {
+            service.submit(source, priority, storage, 0, stone, amount, () -> changes++);
+        }
+
+        long amount() {
+            var stack = storage.getStack(0);
+            return stack != null ? stack.amount() : 0;
+        }
+    }
+
+    private record Extraction(long amount, IActionSource source) {
+    }
+
+    private static class NetworkStorage implements MEStorage {
+        private final KeyCounter stored = new KeyCounter();
+        private final List<Extraction> extractions = new ArrayList<>();
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            if (mode == Actionable.MODULATE) {
+                stored.add(what, amount);
+            }
+            return amount;
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var extracted = Math.min(amount, stored.get(what));
+            if (mode == Actionable.MODULATE) {
+                stored.remove(what, extracted);
+                extractions.add(new Extraction(amount, source));
+            }
+            return extracted;
+        }
+
+        @Override
+        public Component getDescription() {
+            return Component.literal("network");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.neoforged.neoforge.items.ItemStackHandler;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ExternalInventoryCacheTest {
+    private static final int SLOTS = 20000;
+
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+    private final ItemStackHandler handler = new ItemStackHandler(SLOTS);
+    private final ExternalStorageFacade facade = ExternalStorageFacade.of(handler);
+    private final ExternalInventoryCache cache = ExternalInventoryCache.of(facade);
+
+    @Test
+    void testIncrementalRescanOnlyScansPartOfTheInventory() {
+        cache.update(true);
+        handler.setStackInSlot(SLOTS - 1, new ItemStack(Items.DIRT));
+
+        assertThat(cache.update(false)).isFalse();
+        assertThat(cache.isScanInProgress()).isTrue();
+        assertThat(available()).isEmpty();
+
+        // Keep scanning until the cursor wraps around
+        for (int i = 0; i < SLOTS && cache.isScanInProgress(); i++) {
+            cache.update(false);
+        }
+        assertThat(cache.isScanInProgress()).isFalse();
+        assertThat(available().get(AEItemKey.of(Items.DIRT))).isEqualTo(1);
+    }
+
+    @Test
+    void testInsertionOnlyRescansAffectedSlots() {
+        handler.setStackInSlot(5, new ItemStack(Items.STONE, 10));
+        handler.setStackInSlot(100, new ItemStack(Items.DIRT));
+        cache.update(true);
+
+        // Not caused by the storage bus, so this should not be picked up yet
+        handler.setStackInSlot(100, new ItemStack(Items.GOLD_INGOT));
+
+        var inserted = facade.insert(stone, 100, Actionable.MODULATE, IActionSource.empty());
+        assertThat(inserted).isEqualTo(100);
+        assertThat(cache.updateAfterModification(stone, inserted, true)).isTrue();
+
+        var available = available();
+        assertThat(available.get(stone)).isEqualTo(110);
+        assertThat(available.get(AEItemKey.of(Items.DIRT))).isEqualTo(1);
+        assertThat(available.get(AEItemKey.of(Items.GOLD_INGOT))).isZero();
+    }
+
+    @Test
+    void testExtractionRescansSlotsHoldingTheKey() {
+        handler.setStackInSlot(5, new ItemStack(Items.STONE, 10));
+        handler.setStackInSlot(7, new ItemStack(Items.STONE, 10));
+        cache.update(true);
+
+        var extracted = facade.extract(stone, 15, Actionable.MODULATE, IActionSource.empty());
+        assertThat(extracted).isEqualTo(15);
+        assertThat(cache.updateAfterModification(stone, extracted, false)).isTrue();
+        assertThat(available().get(stone)).isEqualTo(5);
+
+        facade.extract(stone, 5, Actionable.MODULATE, IActionSource.empty());
+        cache.updateAfterModification(stone, 5, false);
+        assertThat(available().isEmpty()).isTrue();
+    }
+
+    private KeyCounter available() {
+        var result = new KeyCounter();
+        cache.getAvailableItems(result);
+        return result;
+    }
+}
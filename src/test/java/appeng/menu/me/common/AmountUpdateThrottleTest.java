@@ -0,0 +1,61 @@
+package appeng.menu.me.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class AmountUpdateThrottleTest {
+    private final AEKey key = AEItemKey.of(Items.COBBLESTONE);
+    private final AmountUpdateThrottle throttle = new AmountUpdateThrottle();
+
+    @Test
+    void testOccasionalChangesAreSentImmediately() {
+        throttle.tick(5);
+        assertThat(throttle.offerAmountChange(key)).isTrue();
+        for (int i = 0; i < 10; i++) {
+            throttle.tick(5);
+        }
+        assertThat(throttle.offerAmountChange(key)).isTrue();
+    }
+
+    @Test
+    void testContinuousChangesAreCoalescedAndBackOff() {
+        var sentOnTicks = new ArrayList<Integer>();
+        for (int tick = 1; tick <= 100; tick++) {
+            throttle.tick(5);
+            if (throttle.offerAmountChange(key)) {
+                sentOnTicks.add(tick);
+            }
+            int currentTick = tick;
+            throttle.flushDue(k -> sentOnTicks.add(currentTick));
+        }
+
+        // Sent immediately, then after 5, 10, 20 and from then on every 40 ticks
+        assertThat(sentOnTicks).containsExactly(1, 6, 16, 36, 76);
+    }
+
+    @Test
+    void testStructuralChangeDropsPendingUpdate() {
+        throttle.tick(5);
+        assertThat(throttle.offerAmountChange(key)).isTrue();
+        throttle.tick(5);
+        assertThat(throttle.offerAmountChange(key)).isFalse();
+
+        throttle.onStructuralChange(key);
+        for (int i = 0; i < 10; i++) {
+            throttle.tick(5);
+            throttle.flushDue(k -> {
+                throw new AssertionError("Nothing should be pending");
+            });
+        }
+    }
+}
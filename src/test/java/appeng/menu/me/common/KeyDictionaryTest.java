@@ -0,0 +1,46 @@
+package appeng.menu.me.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.Unpooled;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class KeyDictionaryTest {
+    private final KeyDictionary server = KeyDictionary.forConnection(new Object());
+    private final KeyDictionary client = KeyDictionary.forConnection(new Object());
+    private final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+
+    @Test
+    void testKeysAreReferencedAfterFirstUse() {
+        var stone = AEItemKey.of(Items.STONE);
+        server.writeOptionalKey(buffer, stone);
+        var firstSize = buffer.readableBytes();
+        server.writeOptionalKey(buffer, stone);
+        server.writeOptionalKey(buffer, null);
+
+        assertThat(buffer.readableBytes() - firstSize).isLessThan(firstSize);
+        assertThat(client.readOptionalKey(buffer)).isEqualTo(stone);
+        assertThat(client.readOptionalKey(buffer)).isEqualTo(stone);
+        assertThat(client.readOptionalKey(buffer)).isNull();
+    }
+
+    @Test
+    void testUnknownReferenceIsAnError() {
+        server.writeOptionalKey(buffer, AEItemKey.of(Items.STONE));
+        var definition = client.readOptionalKey(buffer);
+        assertThat(definition).isNotNull();
+
+        server.writeOptionalKey(buffer, AEItemKey.of(Items.STONE));
+        client.clear();
+        assertThatThrownBy(() -> client.readOptionalKey(buffer)).isInstanceOf(IllegalStateException.class);
+    }
+}
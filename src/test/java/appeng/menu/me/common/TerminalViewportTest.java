@@ -0,0 +1,151 @@
+package appeng.menu.me.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Settings;
+import appeng.api.config.SortDir;
+import appeng.api.config.SortOrder;
+import appeng.api.config.TypeFilter;
+import appeng.api.config.ViewItems;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.AEKeyFilter;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.ConfigManager;
+
+@BootstrapMinecraft
+class TerminalViewportTest {
+    private final TerminalViewport viewport = new TerminalViewport();
+    private final ConfigManager settings = new ConfigManager(() -> {
+    });
+    private final KeyCounter available = new KeyCounter();
+    private final IncrementalUpdateHelper serials = new IncrementalUpdateHelper();
+    private final KeyDictionary keyDictionary = KeyDictionary.forConnection(new Object());
+
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+    private final AEItemKey dirt = AEItemKey.of(Items.DIRT);
+    private final AEItemKey diamond = AEItemKey.of(Items.DIAMOND);
+
+    @BeforeEach
+    void setUp() {
+        settings.registerSetting(Settings.SORT_BY, SortOrder.AMOUNT);
+        settings.registerSetting(Settings.VIEW_MODE, ViewItems.ALL);
+        settings.registerSetting(Settings.TYPE_FILTER, TypeFilter.ALL);
+        settings.registerSetting(Settings.SORT_DIRECTION, SortDir.DESCENDING);
+
+        available.add(stone, 100);
+        available.add(dirt, 10);
+        available.add(diamond, 1);
+    }
+
+    @Test
+    void testSortsAndFiltersOnServer() {
+        viewport.setWindow("", 0, 9);
+        refresh(Set.of());
+        assertThat(viewport.getOrderedKeys()).containsExactly(stone, dirt, diamond);
+
+        viewport.setWindow("*dia", 0, 9);
+        rebuild(Set.of());
+        assertThat(viewport.getOrderedKeys()).containsExactly(diamond);
+
+        viewport.setWindow("", 0, 9);
+        settings.putSetting(Settings.VIEW_MODE, ViewItems.CRAFTABLE);
+        rebuild(Set.of(dirt));
+        assertThat(viewport.getOrderedKeys()).containsExactly(dirt);
+    }
+
+    @Test
+    void testSearchIsMatchedLiterally() {
+        viewport.setWindow("*MINECRAFT:DI", 0, 9);
+        refresh(Set.of());
+        assertThat(viewport.getOrderedKeys()).containsExactly(dirt, diamond);
+
+        viewport.setWindow("*di.mond", 0, 9);
+        rebuild(Set.of());
+        assertThat(viewport.getOrderedKeys()).isEmpty();
+
+        viewport.setWindow("(a+)+$", 0, 9);
+        rebuild(Set.of());
+        assertThat(viewport.getOrderedKeys()).isEmpty();
+    }
+
+    @Test
+    void testSearchChangesAreRateLimited() {
+        viewport.setWindow("", 0, 9);
+        refresh(Set.of());
+
+        viewport.setWindow("*dirt", 0, 9);
+        refresh(Set.of());
+        assertThat(viewport.getOrderedKeys()).containsExactly(stone, dirt, diamond);
+
+        rebuild(Set.of());
+        assertThat(viewport.getOrderedKeys()).containsExactly(dirt);
+    }
+
+    @Test
+    void testAmountChangesAreResortedAfterInterval() {
+        viewport.setWindow("", 0, 9);
+        refresh(Set.of());
+
+        available.add(diamond, 1000);
+        viewport.onAmountChange();
+        refresh(Set.of());
+        assertThat(viewport.getOrderedKeys()).containsExactly(stone, dirt, diamond);
+
+        for (int i = 0; i < 10; i++) {
+            refresh(Set.of());
+        }
+        assertThat(viewport.getOrderedKeys()).containsExactly(diamond, stone, dirt);
+    }
+
+    @Test
+    void testOnlySendsWindowAndMargin() {
+        viewport.setWindow("", 1, 1);
+        refresh(Set.of());
+
+        var packet = viewport.createUpdate(0, keyDictionary, serials, available, Set.of());
+        assertThat(packet).isNotNull();
+        assertThat(packet.totalSize()).isEqualTo(3);
+        assertThat(packet.windowStart()).isEqualTo(0);
+        assertThat(packet.encodedEntryCount()).isEqualTo(3);
+
+        viewport.setWindow("", 2, 1);
+        packet = viewport.createUpdate(0, keyDictionary, serials, available, Set.of());
+        assertThat(packet).isNotNull();
+        assertThat(packet.windowStart()).isEqualTo(1);
+        assertThat(packet.encodedEntryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testUnchangedWindowIsNotResent() {
+        viewport.setWindow("", 0, 9);
+        refresh(Set.of());
+        assertThat(viewport.createUpdate(0, keyDictionary, serials, available, Set.of())).isNotNull();
+        assertThat(viewport.createUpdate(0, keyDictionary, serials, available, Set.of())).isNull();
+
+        available.add(dirt, 1);
+        assertThat(viewport.createUpdate(0, keyDictionary, serials, available, Set.of())).isNotNull();
+    }
+
+    private void refresh(Set<AEKey> craftables) {
+        viewport.refresh(available, craftables, settings, List.of(), AEKeyFilter.none());
+    }
+
+    /**
+     * Refreshes often enough for changed view settings to be applied.
+     */
+    private void rebuild(Set<AEKey> craftables) {
+        for (int i = 0; i < 4; i++) {
+            refresh(craftables);
+        }
+    }
+}